@@ -0,0 +1,327 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Laundry-rush load test for the createReservation mutation.
+ * <p>
+ * Registers a pool of residents, then fires concurrent createReservation mutations at the
+ * laundry slots of one day on a few machines and reports throughput, latency percentiles,
+ * the outcome mix and any double bookings seen in the successful responses. Run it against a
+ * local backend on a throwaway database, then check the database itself with
+ * laundry-rush-verify.sql.
+ * <p>
+ * Usage (JDK 21, no build needed):
+ * <pre>
+ *   java backend/perf/LaundryRushLoadTest.java --resources 1,2,3 [--url http://localhost:8080/graphql]
+ *        [--users 200] [--requests 5000] [--concurrency 256] [--days-ahead 2]
+ * </pre>
+ * The GraphQL rate limiter allows each resident only a few createReservation calls per
+ * minute, so most of the rush is rejected up front and reported as RATE_LIMITED. To measure
+ * the booking path itself, start the backend with the limiter disabled; an empty list
+ * configures no limits:
+ * <pre>
+ *   RATE_LIMIT_OPERATIONS= java -jar target/mydorm-*.jar   (or pass --rate-limit.operations=)
+ * </pre>
+ * Exits with status 1 when a double booking or a weekly limit overrun is detected.
+ */
+public class LaundryRushLoadTest {
+
+    private static final ZoneId DORMITORY_ZONE = ZoneId.of("Europe/Warsaw");
+    private static final int LAUNDRY_WEEKLY_LIMIT = 2;
+    private static final List<LocalTime> LAUNDRY_SLOT_STARTS = List.of(
+            LocalTime.of(8, 0), LocalTime.of(11, 0), LocalTime.of(14, 0), LocalTime.of(17, 0), LocalTime.of(20, 0));
+    private static final Duration LAUNDRY_SLOT_LENGTH = Duration.ofHours(3);
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ERROR_MESSAGE = Pattern.compile("\"message\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern RATE_LIMITED_ERROR = Pattern.compile("\"errorCode\"\\s*:\\s*\"RATE_LIMITED\"");
+    private static final Pattern RESERVATION_ID = Pattern.compile("\"createReservation\"\\s*:\\s*\\{\\s*\"id\"\\s*:\\s*\"(\\d+)\"");
+
+    enum Outcome { CREATED, RESOURCE_CONFLICT, USER_CONFLICT, WEEKLY_LIMIT, RATE_LIMITED, OTHER_ERROR, TRANSPORT_ERROR }
+
+    record Slot(long resourceId, LocalTime start) {}
+
+    record Result(int user, Slot slot, Outcome outcome, long latencyNanos, String detail) {}
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private final URI url;
+
+    LaundryRushLoadTest(URI url) {
+        this.url = url;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (!options.containsKey("resources")) {
+            System.err.println("--resources <comma separated laundry resource ids> is required");
+            System.exit(2);
+        }
+
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:8080/graphql"));
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "5000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "256"));
+        LocalDate date = LocalDate.now(DORMITORY_ZONE).plusDays(Long.parseLong(options.getOrDefault("days-ahead", "2")));
+        long[] resourceIds = Arrays.stream(options.get("resources").split(",")).mapToLong(id -> Long.parseLong(id.trim())).toArray();
+
+        List<Slot> slots = new ArrayList<>();
+        for (long resourceId : resourceIds) {
+            for (LocalTime start : LAUNDRY_SLOT_STARTS) {
+                slots.add(new Slot(resourceId, start));
+            }
+        }
+
+        LaundryRushLoadTest test = new LaundryRushLoadTest(url);
+        System.out.printf("Registering %d residents...%n", users);
+        List<String> tokens = test.registerResidents(users, Math.min(concurrency, 32));
+
+        System.out.printf("Firing %d createReservation mutations at %d slots on %s with concurrency %d...%n",
+                requests, slots.size(), date, concurrency);
+        long started = System.nanoTime();
+        List<Result> results = test.rush(tokens, slots, date, requests, concurrency);
+        long elapsed = System.nanoTime() - started;
+
+        boolean violations = report(results, elapsed, slots.size());
+        System.exit(violations ? 1 : 0);
+    }
+
+    private List<String> registerResidents(int count, int parallelism) throws InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        String[] tokens = new String[count];
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(parallelism);
+            for (int i = 0; i < count; i++) {
+                int user = i;
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        String email = "rush-" + runId + "-" + user + "@example.com";
+                        String password = "rush-password";
+                        post(null, """
+                                mutation { registerUser(registerInput: {firstName: "Rush", lastName: "Resident%d", email: "%s", password: "%s"}) { message } }
+                                """.formatted(user, email, password));
+                        String login = post(null, """
+                                mutation { loginUser(loginInput: {email: "%s", password: "%s"}) { token } }
+                                """.formatted(email, password));
+                        Matcher token = TOKEN.matcher(login);
+                        if (token.find()) {
+                            tokens[user] = token.group(1);
+                        } else {
+                            failures.add(login);
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        failures.add(e.toString());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(failures.size() + " residents could not be registered, first failure: " + failures.peek());
+        }
+        return Arrays.asList(tokens);
+    }
+
+    private List<Result> rush(List<String> tokens, List<Slot> slots, LocalDate date, int requests, int concurrency)
+            throws InterruptedException {
+        ConcurrentLinkedQueue<Result> results = new ConcurrentLinkedQueue<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int user = random.nextInt(tokens.size());
+                Slot slot = slots.get(random.nextInt(slots.size()));
+                executor.submit(() -> {
+                    try {
+                        startGate.await();
+                        inFlight.acquire();
+                        try {
+                            results.add(reserve(user, tokens.get(user), slot, date));
+                        } finally {
+                            inFlight.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                });
+            }
+            startGate.countDown();
+        }
+        return new ArrayList<>(results);
+    }
+
+    private Result reserve(int user, String token, Slot slot, LocalDate date) throws InterruptedException {
+        DateTimeFormatter format = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+        String startTime = date.atTime(slot.start()).atZone(DORMITORY_ZONE).format(format);
+        String endTime = date.atTime(slot.start()).plus(LAUNDRY_SLOT_LENGTH).atZone(DORMITORY_ZONE).format(format);
+        String mutation = """
+                mutation { createReservation(input: {resourceId: "%d", startTime: "%s", endTime: "%s"}) { id } }
+                """.formatted(slot.resourceId(), startTime, endTime);
+
+        long started = System.nanoTime();
+        String body;
+        try {
+            body = post(token, mutation);
+        } catch (IOException e) {
+            return new Result(user, slot, Outcome.TRANSPORT_ERROR, System.nanoTime() - started, e.toString());
+        }
+        long latency = System.nanoTime() - started;
+
+        Matcher id = RESERVATION_ID.matcher(body);
+        if (id.find()) {
+            return new Result(user, slot, Outcome.CREATED, latency, id.group(1));
+        }
+        Matcher error = ERROR_MESSAGE.matcher(body);
+        String message = error.find() ? error.group(1) : body;
+        if (RATE_LIMITED_ERROR.matcher(body).find()) {
+            return new Result(user, slot, Outcome.RATE_LIMITED, latency, message);
+        }
+        return new Result(user, slot, classify(message), latency, message);
+    }
+
+    // Messages as resolved for Accept-Language: en
+    private static Outcome classify(String message) {
+        if (message.startsWith("Resource is already reserved")) {
+            return Outcome.RESOURCE_CONFLICT;
+        }
+        if (message.startsWith("You already have a reservation")) {
+            return Outcome.USER_CONFLICT;
+        }
+        if (message.contains("weekly limit")) {
+            return Outcome.WEEKLY_LIMIT;
+        }
+        return Outcome.OTHER_ERROR;
+    }
+
+    private String post(String token, String query) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(url)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept-Language", "en")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"query\":" + jsonString(query.strip()) + "}"));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static boolean report(List<Result> results, long elapsedNanos, int slotCount) {
+        Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        List<Long> latencies = new ArrayList<>();
+        Map<Slot, Integer> bookingsPerSlot = new HashMap<>();
+        Map<Integer, List<Slot>> bookingsPerUser = new HashMap<>();
+        Map<String, Integer> otherErrors = new HashMap<>();
+
+        for (Result result : results) {
+            outcomes.merge(result.outcome(), 1, Integer::sum);
+            latencies.add(result.latencyNanos());
+            if (result.outcome() == Outcome.CREATED) {
+                bookingsPerSlot.merge(result.slot(), 1, Integer::sum);
+                bookingsPerUser.computeIfAbsent(result.user(), user -> new ArrayList<>()).add(result.slot());
+            } else if (result.outcome() == Outcome.OTHER_ERROR || result.outcome() == Outcome.TRANSPORT_ERROR) {
+                otherErrors.merge(result.detail(), 1, Integer::sum);
+            }
+        }
+        Collections.sort(latencies);
+
+        long doubleBookedSlots = bookingsPerSlot.values().stream().filter(count -> count > 1).count();
+        long userOverlaps = bookingsPerUser.values().stream()
+                .filter(booked -> booked.stream().map(Slot::start).distinct().count() < booked.size())
+                .count();
+        long limitOverruns = bookingsPerUser.values().stream().filter(booked -> booked.size() > LAUNDRY_WEEKLY_LIMIT).count();
+
+        int total = results.size();
+        double seconds = elapsedNanos / 1e9;
+        System.out.println();
+        System.out.printf("Requests:           %d in %.2f s (%.1f req/s)%n", total, seconds, total / seconds);
+        System.out.printf("Latency:            p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        for (Outcome outcome : Outcome.values()) {
+            int count = outcomes.getOrDefault(outcome, 0);
+            System.out.printf("%-19s %d (%.1f%%)%n", outcome + ":", count, total == 0 ? 0 : 100.0 * count / total);
+        }
+        System.out.printf("Slots booked:       %d of %d%n", bookingsPerSlot.size(), slotCount);
+        otherErrors.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(5)
+                .forEach(error -> System.out.printf("  %dx %s%n", error.getValue(), error.getKey()));
+
+        System.out.println();
+        System.out.printf("Double-booked slots:   %d%n", doubleBookedSlots);
+        System.out.printf("Users with overlaps:   %d%n", userOverlaps);
+        System.out.printf("Weekly limit overruns: %d%n", limitOverruns);
+        return doubleBookedSlots > 0 || userOverlaps > 0 || limitOverruns > 0;
+    }
+
+    private static double percentile(List<Long> sortedNanos, double quantile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1e6;
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
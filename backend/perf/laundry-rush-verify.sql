@@ -0,0 +1,49 @@
+-- Database-side check after a LaundryRushLoadTest run.
+--
+-- Usage:
+--   psql -d myDorm -f backend/perf/laundry-rush-verify.sql
+--
+-- Every query but the last should return no rows.
+
+\echo 'Overlapping confirmed reservations on the same resource'
+SELECT a.id, b.id, a.resource_id, a.start_time, a.end_time
+FROM reservations a
+JOIN reservations b ON b.resource_id = a.resource_id
+    AND b.id > a.id
+    AND tsrange(b.start_time, b.end_time) && tsrange(a.start_time, a.end_time)
+WHERE a.status = 'CONFIRMED'
+  AND b.status = 'CONFIRMED';
+
+\echo 'Overlapping confirmed reservations of the same user'
+SELECT a.id, b.id, a.user_id, a.start_time, a.end_time
+FROM reservations a
+JOIN reservations b ON b.user_id = a.user_id
+    AND b.id > a.id
+    AND tsrange(b.start_time, b.end_time) && tsrange(a.start_time, a.end_time)
+WHERE a.status = 'CONFIRMED'
+  AND b.status = 'CONFIRMED';
+
+\echo 'Weekly laundry quota exceeded'
+SELECT r.user_id, CAST(date_trunc('week', r.start_time) AS DATE) AS week_start, COUNT(*) AS reservations
+FROM reservations r
+JOIN reservation_resources rr ON rr.id = r.resource_id
+WHERE rr.resource_type = 'LAUNDRY'
+  AND r.status = 'CONFIRMED'
+GROUP BY r.user_id, week_start
+HAVING COUNT(*) > 2;
+
+\echo 'Quota ledger out of step with reservations'
+SELECT q.user_id, q.week_start, q.used, COUNT(r.id) AS reservations
+FROM reservation_quota q
+LEFT JOIN reservations r ON r.user_id = q.user_id
+    AND CAST(date_trunc('week', r.start_time) AS DATE) = q.week_start
+    AND r.status = 'CONFIRMED'
+    AND r.resource_id IN (SELECT id FROM reservation_resources WHERE resource_type = 'LAUNDRY')
+WHERE q.scope = 'LAUNDRY'
+GROUP BY q.user_id, q.week_start, q.used
+HAVING q.used <> COUNT(r.id);
+
+\echo 'Residents created by the load test (delete them with: DELETE FROM users WHERE email LIKE ''rush-%@example.com'')'
+SELECT COUNT(*) AS rush_residents
+FROM users
+WHERE email LIKE 'rush-%@example.com';
@@ -0,0 +1,163 @@
+-- Search latency benchmark for the admin resident and reservation filters.
+--
+-- Usage (against a throwaway database that Flyway has already migrated):
+--   psql -d mydorm_bench -f backend/perf/trigram-search-benchmark.sql
+--
+-- Loads 50k residents and 1M reservations, runs the search queries with the trigram indexes
+-- from V15 and again with them dropped, then runs the previous LIKE form and rolls everything back.
+
+\timing on
+\set pattern '''%kowal%'''
+
+BEGIN;
+
+INSERT INTO buildings (name, address)
+SELECT 'Bench building ' || b, 'Bench street ' || b
+FROM generate_series(1, 10) AS b;
+
+INSERT INTO rooms (building_id, room_number, capacity)
+SELECT bl.id, (100 + r)::text, 2
+FROM buildings bl
+CROSS JOIN generate_series(1, 2500) AS r
+WHERE bl.name LIKE 'Bench building %';
+
+INSERT INTO users (email, password, first_name, last_name, room_id)
+SELECT 'bench' || g || '@example.com',
+       'bench',
+       (ARRAY['Anna', 'Piotr', 'Katarzyna', 'Tomasz', 'Magdalena', 'Jakub', 'Agnieszka', 'Michał'])[1 + g % 8],
+       (ARRAY['Kowalski', 'Nowak', 'Wiśniewski', 'Wójcik', 'Kamiński', 'Lewandowski', 'Zieliński', 'Szymański',
+              'Woźniak', 'Dąbrowski', 'Kozłowski', 'Jankowski'])[1 + g % 12] || (g % 997),
+       (SELECT min(rm.id) FROM rooms rm JOIN buildings bl ON bl.id = rm.building_id
+        WHERE bl.name LIKE 'Bench building %') + (g % 25000)
+FROM generate_series(1, 50000) AS g;
+
+INSERT INTO user_roles (user_id, role_name)
+SELECT id, 'ROLE_RESIDENT' FROM users WHERE email LIKE 'bench%@example.com';
+
+INSERT INTO reservation_resources (name, building_id, resource_type)
+SELECT 'Bench room ' || r, (SELECT min(id) FROM buildings WHERE name LIKE 'Bench building %'), 'STANDARD'
+FROM generate_series(1, 50) AS r;
+
+-- Monthly partitions (V16) for the benchmark range, so rows do not all land in the default one
+SELECT create_reservation_partition(month::DATE)
+FROM generate_series(date_trunc('month', CURRENT_DATE - 500), CURRENT_DATE + 500, interval '1 month') AS month;
+
+-- 50 resources x 20000 hourly slots (23:00-03:00 is left free so no booking crosses midnight),
+-- 1000 days centred on today; each slot is booked by 50 different users
+INSERT INTO reservations (user_id, resource_id, start_time, end_time, status)
+SELECT u.first_id + (h * 50 + r) % 50000,
+       res.first_id + r,
+       (CURRENT_DATE - 500) + (h / 20) * interval '1 day' + (3 + h % 20) * interval '1 hour',
+       (CURRENT_DATE - 500) + (h / 20) * interval '1 day' + (4 + h % 20) * interval '1 hour',
+       'CONFIRMED'
+FROM generate_series(0, 19999) AS h
+CROSS JOIN generate_series(0, 49) AS r
+CROSS JOIN (SELECT min(id) AS first_id FROM users WHERE email LIKE 'bench%@example.com') u
+CROSS JOIN (SELECT min(id) AS first_id FROM reservation_resources WHERE name LIKE 'Bench room %') res;
+
+ANALYZE users;
+ANALYZE rooms;
+ANALYZE reservation_resources;
+ANALYZE reservations;
+
+\echo '=== Current queries with trigram indexes ==='
+
+\echo '--- residents search (findAllResidentsWithSearch) ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.*
+FROM users u
+JOIN user_roles ur ON ur.user_id = u.id
+WHERE ur.role_name = 'ROLE_RESIDENT'
+  AND u.id IN (SELECT su.id FROM users su
+               WHERE lower(su.first_name) LIKE :pattern ESCAPE '!' OR lower(su.last_name) LIKE :pattern ESCAPE '!'
+               UNION
+               SELECT su.id FROM users su JOIN rooms rm ON rm.id = su.room_id
+               WHERE lower(rm.room_number) LIKE :pattern ESCAPE '!')
+ORDER BY u.first_name
+LIMIT 10;
+
+\echo '--- admin reservations search (findFutureConfirmedIdsAsc) ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id
+FROM reservations r
+WHERE r.status = 'CONFIRMED'
+  AND r.start_time > now()::timestamp
+  AND (r.user_id = ANY (ARRAY(SELECT su.id FROM users su
+                              WHERE lower(su.first_name) LIKE :pattern ESCAPE '!' OR lower(su.last_name) LIKE :pattern ESCAPE '!'
+                              UNION
+                              SELECT su.id FROM users su JOIN rooms sr ON sr.id = su.room_id
+                              WHERE lower(sr.room_number) LIKE :pattern ESCAPE '!'))
+    OR r.resource_id = ANY (ARRAY(SELECT sres.id FROM reservation_resources sres
+                                  WHERE lower(sres.name) LIKE :pattern ESCAPE '!')))
+ORDER BY r.start_time, r.id
+LIMIT 10;
+
+DROP INDEX idx_users_first_name_trgm;
+DROP INDEX idx_users_last_name_trgm;
+DROP INDEX idx_rooms_room_number_trgm;
+DROP INDEX idx_reservation_resources_name_trgm;
+
+\echo '=== Current queries without trigram indexes ==='
+
+\echo '--- residents search (findAllResidentsWithSearch) ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.*
+FROM users u
+JOIN user_roles ur ON ur.user_id = u.id
+WHERE ur.role_name = 'ROLE_RESIDENT'
+  AND u.id IN (SELECT su.id FROM users su
+               WHERE lower(su.first_name) LIKE :pattern ESCAPE '!' OR lower(su.last_name) LIKE :pattern ESCAPE '!'
+               UNION
+               SELECT su.id FROM users su JOIN rooms rm ON rm.id = su.room_id
+               WHERE lower(rm.room_number) LIKE :pattern ESCAPE '!')
+ORDER BY u.first_name
+LIMIT 10;
+
+\echo '--- admin reservations search (findFutureConfirmedIdsAsc) ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id
+FROM reservations r
+WHERE r.status = 'CONFIRMED'
+  AND r.start_time > now()::timestamp
+  AND (r.user_id = ANY (ARRAY(SELECT su.id FROM users su
+                              WHERE lower(su.first_name) LIKE :pattern ESCAPE '!' OR lower(su.last_name) LIKE :pattern ESCAPE '!'
+                              UNION
+                              SELECT su.id FROM users su JOIN rooms sr ON sr.id = su.room_id
+                              WHERE lower(sr.room_number) LIKE :pattern ESCAPE '!'))
+    OR r.resource_id = ANY (ARRAY(SELECT sres.id FROM reservation_resources sres
+                                  WHERE lower(sres.name) LIKE :pattern ESCAPE '!')))
+ORDER BY r.start_time, r.id
+LIMIT 10;
+
+\echo '=== Previous LIKE form (no index use) ==='
+
+\echo '--- residents search ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.*
+FROM users u
+JOIN user_roles ur ON ur.user_id = u.id
+LEFT JOIN rooms room ON room.id = u.room_id
+WHERE ur.role_name = 'ROLE_RESIDENT'
+  AND (lower(u.first_name) LIKE lower(concat('%', 'kowal', '%'))
+    OR lower(u.last_name) LIKE lower(concat('%', 'kowal', '%'))
+    OR lower(room.room_number) LIKE lower(concat('%', 'kowal', '%')))
+ORDER BY u.first_name
+LIMIT 10;
+
+\echo '--- admin reservations search ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id
+FROM reservations r
+LEFT JOIN users u ON u.id = r.user_id
+LEFT JOIN rooms room ON room.id = u.room_id
+JOIN reservation_resources res ON res.id = r.resource_id
+WHERE r.status = 'CONFIRMED'
+  AND r.start_time > now()::timestamp
+  AND (lower(u.first_name) LIKE lower(concat('%', 'kowal', '%'))
+    OR lower(u.last_name) LIKE lower(concat('%', 'kowal', '%'))
+    OR lower(room.room_number) LIKE lower(concat('%', 'kowal', '%'))
+    OR lower(res.name) LIKE lower(concat('%', 'kowal', '%')))
+ORDER BY r.start_time, r.id
+LIMIT 10;
+
+ROLLBACK;
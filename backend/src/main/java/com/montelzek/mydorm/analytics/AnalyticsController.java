@@ -0,0 +1,23 @@
+package com.montelzek.mydorm.analytics;
+
+import com.montelzek.mydorm.analytics.payload.ResourceUtilizationPayload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final ResourceUtilizationService resourceUtilizationService;
+
+    @QueryMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<ResourceUtilizationPayload> resourceUtilization(@Argument Integer weeks, @Argument Long buildingId) {
+        return resourceUtilizationService.getResourceUtilization(weeks, buildingId);
+    }
+}
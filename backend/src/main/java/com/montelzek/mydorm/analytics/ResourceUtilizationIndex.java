@@ -0,0 +1,121 @@
+package com.montelzek.mydorm.analytics;
+
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import com.montelzek.mydorm.reservation.ReservationHourUsage;
+import com.montelzek.mydorm.reservation.ReservationRepository;
+import com.montelzek.mydorm.reservation.SlotAvailabilityEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Keeps an hour-of-week usage matrix per (resource, week): entry {@code h} counts the held
+ * reservations covering hour {@code h} of that week, where 0 is Monday 00:00.
+ * <p>
+ * The matrix is built from reservations on startup and follows {@link SlotAvailabilityEvent}s
+ * after that. Completed reservations keep their hours. A nightly rebuild drops weeks past the
+ * retention window and corrects any drift from events that raced with the previous rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResourceUtilizationIndex {
+
+    public static final int HOURS_PER_WEEK = 7 * 24;
+
+    private final ReservationRepository reservationRepository;
+
+    @Value("${analytics.utilization.retention-weeks:26}")
+    private int retentionWeeks;
+
+    private volatile ConcurrentMap<Key, AtomicIntegerArray> usage = new ConcurrentHashMap<>();
+
+    private record Key(Long resourceId, LocalDate weekStart) {}
+
+    public int getRetentionWeeks() {
+        return retentionWeeks;
+    }
+
+    /**
+     * Sums the usage of a resource over the weeks starting in [fromWeek, toWeek].
+     */
+    public int[] getHourlyCounts(Long resourceId, LocalDate fromWeek, LocalDate toWeek) {
+        ConcurrentMap<Key, AtomicIntegerArray> current = usage;
+        int[] counts = new int[HOURS_PER_WEEK];
+        for (LocalDate week = weekOf(fromWeek); !week.isAfter(toWeek); week = week.plusWeeks(1)) {
+            AtomicIntegerArray weekUsage = current.get(new Key(resourceId, week));
+            if (weekUsage == null) {
+                continue;
+            }
+            for (int hour = 0; hour < HOURS_PER_WEEK; hour++) {
+                counts[hour] += weekUsage.get(hour);
+            }
+        }
+        return counts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${analytics.utilization.rebuild-cron:0 15 4 * * *}", zone = "Europe/Warsaw")
+    public synchronized void rebuild() {
+        List<ReservationHourUsage> rows = reservationRepository.findHourlyUsageSince(oldestRetainedWeek().atStartOfDay());
+
+        ConcurrentMap<Key, AtomicIntegerArray> rebuilt = new ConcurrentHashMap<>();
+        for (ReservationHourUsage row : rows) {
+            rebuilt.computeIfAbsent(new Key(row.getResourceId(), row.getWeekStart()), key -> new AtomicIntegerArray(HOURS_PER_WEEK))
+                    .set(row.getHourOfWeek(), row.getReservedCount().intValue());
+        }
+        usage = rebuilt;
+        log.info("Rebuilt resource utilization index with {} resource weeks", rebuilt.size());
+    }
+
+    // Synchronized with rebuild so an update is never applied to a map that is being replaced
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSlotAvailabilityChanged(SlotAvailabilityEvent event) {
+        LocalDate oldestWeek = oldestRetainedWeek();
+        int delta = event.taken() ? 1 : -1;
+
+        for (LocalDateTime hour = event.startTime().truncatedTo(ChronoUnit.HOURS); hour.isBefore(event.endTime()); hour = hour.plusHours(1)) {
+            LocalDate week = weekOf(hour.toLocalDate());
+            if (week.isBefore(oldestWeek)) {
+                continue;
+            }
+            Key key = new Key(event.resourceId(), week);
+            AtomicIntegerArray weekUsage = event.taken()
+                    ? usage.computeIfAbsent(key, k -> new AtomicIntegerArray(HOURS_PER_WEEK))
+                    : usage.get(key);
+            if (weekUsage != null) {
+                weekUsage.addAndGet(hourOfWeek(hour), delta);
+            }
+        }
+    }
+
+    public static LocalDate weekOf(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY);
+    }
+
+    private LocalDate oldestRetainedWeek() {
+        return weekOf(LocalDate.now(ApplicationConstants.DORMITORY_TIMEZONE)).minusWeeks(retentionWeeks - 1L);
+    }
+
+    private static int hourOfWeek(LocalDateTime hour) {
+        return (hour.getDayOfWeek().getValue() - 1) * 24 + hour.getHour();
+    }
+}
@@ -0,0 +1,61 @@
+package com.montelzek.mydorm.analytics;
+
+import com.montelzek.mydorm.analytics.payload.ResourceUtilizationPayload;
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import com.montelzek.mydorm.reservation_resource.ReservationResource;
+import com.montelzek.mydorm.reservation_resource.ReservationResourceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ResourceUtilizationService {
+
+    private static final int DEFAULT_WEEKS = 4;
+    private static final int BOOKABLE_HOURS_PER_WEEK = 7 * (ApplicationConstants.LATEST_RESERVATION_TIME.getHour()
+            - ApplicationConstants.EARLIEST_RESERVATION_TIME.getHour());
+
+    private final ResourceUtilizationIndex utilizationIndex;
+    private final ReservationResourceRepository reservationResourceRepository;
+
+    /**
+     * Returns the usage of every resource (optionally within one building) over the last
+     * {@code weeks} weeks including the current one, most utilized first. Utilization is the
+     * share of bookable hours that were reserved.
+     */
+    public List<ResourceUtilizationPayload> getResourceUtilization(Integer weeks, Long buildingId) {
+        int weekCount = weeks != null ? weeks : DEFAULT_WEEKS;
+        if (weekCount < 1 || weekCount > utilizationIndex.getRetentionWeeks()) {
+            throw new IllegalArgumentException("Weeks must be between 1 and " + utilizationIndex.getRetentionWeeks());
+        }
+
+        LocalDate toWeek = ResourceUtilizationIndex.weekOf(LocalDate.now(ApplicationConstants.DORMITORY_TIMEZONE));
+        LocalDate fromWeek = toWeek.minusWeeks(weekCount - 1L);
+
+        return reservationResourceRepository.findAllWithBuilding(buildingId).stream()
+                .map(resource -> toPayload(resource, utilizationIndex.getHourlyCounts(resource.getId(), fromWeek, toWeek), weekCount))
+                .sorted(Comparator.comparingDouble(ResourceUtilizationPayload::utilization).reversed())
+                .toList();
+    }
+
+    private ResourceUtilizationPayload toPayload(ReservationResource resource, int[] hourlyCounts, int weeks) {
+        int reservedHours = Arrays.stream(hourlyCounts).sum();
+        return new ResourceUtilizationPayload(
+                resource.getId(),
+                resource.getName(),
+                resource.getResourceType().name(),
+                resource.isActive(),
+                resource.getBuilding().getId(),
+                resource.getBuilding().getName(),
+                weeks,
+                reservedHours,
+                (double) reservedHours / (weeks * BOOKABLE_HOURS_PER_WEEK),
+                Arrays.stream(hourlyCounts).boxed().toList()
+        );
+    }
+}
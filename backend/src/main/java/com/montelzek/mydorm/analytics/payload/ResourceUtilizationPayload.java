@@ -0,0 +1,16 @@
+package com.montelzek.mydorm.analytics.payload;
+
+import java.util.List;
+
+public record ResourceUtilizationPayload(
+        Long resourceId,
+        String resourceName,
+        String resourceType,
+        boolean isActive,
+        Long buildingId,
+        String buildingName,
+        int weeks,
+        int reservedHours,
+        double utilization,
+        List<Integer> hourlyCounts
+) {}
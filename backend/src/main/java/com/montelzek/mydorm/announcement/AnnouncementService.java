@@ -3,11 +3,13 @@ package com.montelzek.mydorm.announcement;
 import com.montelzek.mydorm.announcement.payload.*;
 import com.montelzek.mydorm.building.Building;
 import com.montelzek.mydorm.building.BuildingRepository;
+import com.montelzek.mydorm.dashboard.ResidentDashboardChanged;
 import com.montelzek.mydorm.user.User;
 import com.montelzek.mydorm.user.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +31,7 @@ public class AnnouncementService {
     private final AnnouncementRepository announcementRepository;
     private final BuildingRepository buildingRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -104,6 +107,7 @@ public class AnnouncementService {
         announcement.setBuildings(buildings);
 
         Announcement savedAnnouncement = announcementRepository.save(announcement);
+        eventPublisher.publishEvent(ResidentDashboardChanged.forBuildings(buildingIds(savedAnnouncement)));
         return toPayload(savedAnnouncement);
     }
 
@@ -111,6 +115,7 @@ public class AnnouncementService {
     public AnnouncementPayload updateAnnouncement(Long id, UpdateAnnouncementInput input) {
         Announcement announcement = announcementRepository.findByIdWithBuildings(id)
                 .orElseThrow(() -> new IllegalArgumentException("Announcement not found: " + id));
+        List<Long> previousBuildingIds = buildingIds(announcement);
 
         announcement.setTitle(input.title());
         announcement.setContent(input.content());
@@ -130,18 +135,30 @@ public class AnnouncementService {
         announcement.setBuildings(buildings);
 
         Announcement updatedAnnouncement = announcementRepository.save(announcement);
+        List<Long> affectedBuildingIds = new ArrayList<>(previousBuildingIds);
+        affectedBuildingIds.addAll(buildingIds(updatedAnnouncement));
+        // An announcement without buildings is shown everywhere, on either side of the update
+        if (previousBuildingIds.isEmpty() || updatedAnnouncement.getBuildings().isEmpty()) {
+            affectedBuildingIds.clear();
+        }
+        eventPublisher.publishEvent(ResidentDashboardChanged.forBuildings(affectedBuildingIds));
         return toPayload(updatedAnnouncement);
     }
 
     @Transactional
     public Boolean deleteAnnouncement(Long id) {
-        if (!announcementRepository.existsById(id)) {
-            throw new IllegalArgumentException("Announcement not found: " + id);
-        }
-        announcementRepository.deleteById(id);
+        Announcement announcement = announcementRepository.findByIdWithBuildings(id)
+                .orElseThrow(() -> new IllegalArgumentException("Announcement not found: " + id));
+        List<Long> buildingIds = buildingIds(announcement);
+        announcementRepository.delete(announcement);
+        eventPublisher.publishEvent(ResidentDashboardChanged.forBuildings(buildingIds));
         return true;
     }
 
+    private static List<Long> buildingIds(Announcement announcement) {
+        return announcement.getBuildings().stream().map(Building::getId).collect(Collectors.toList());
+    }
+
     private AnnouncementPayload toPayload(Announcement announcement) {
         List<AnnouncementBuildingPayload> buildingPayloads = announcement.getBuildings().stream()
                 .map(building -> new AnnouncementBuildingPayload(building.getId(), building.getName()))
@@ -3,6 +3,8 @@ package com.montelzek.mydorm.auth;
 import com.montelzek.mydorm.auth.payload.JwtResponse;
 import com.montelzek.mydorm.auth.payload.LoginInput;
 import com.montelzek.mydorm.auth.payload.RegisterInput;
+import com.montelzek.mydorm.dashboard.DashboardCounter;
+import com.montelzek.mydorm.dashboard.DashboardCountersChanged;
 import com.montelzek.mydorm.exception.BusinessException;
 import com.montelzek.mydorm.exception.ErrorCodes;
 import com.montelzek.mydorm.security.UserDetailsImpl;
@@ -11,6 +13,7 @@ import com.montelzek.mydorm.user.ERole;
 import com.montelzek.mydorm.user.User;
 import com.montelzek.mydorm.user.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -32,6 +35,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     public JwtResponse login(LoginInput loginInput) {
         try {
@@ -68,5 +72,6 @@ public class AuthService {
         user.setRoles(roles);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(DashboardCountersChanged.of(DashboardCounter.RESIDENTS, 1));
     }
 }
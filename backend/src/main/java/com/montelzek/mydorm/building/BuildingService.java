@@ -1,8 +1,12 @@
 package com.montelzek.mydorm.building;
 
 import com.montelzek.mydorm.building.payload.*;
+import com.montelzek.mydorm.dashboard.DashboardCounter;
+import com.montelzek.mydorm.dashboard.DashboardCountersChanged;
+import com.montelzek.mydorm.dashboard.ResidentDashboardChanged;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +22,7 @@ import java.util.stream.Collectors;
 public class BuildingService {
 
     private final BuildingRepository buildingRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -70,6 +75,7 @@ public class BuildingService {
         building.setAddress(input.address());
         
         Building saved = buildingRepository.save(building);
+        eventPublisher.publishEvent(DashboardCountersChanged.of(DashboardCounter.BUILDINGS, 1));
         return toAdminPayload(saved);
     }
 
@@ -89,6 +95,7 @@ public class BuildingService {
         building.setAddress(input.address());
         
         Building updated = buildingRepository.save(building);
+        eventPublisher.publishEvent(ResidentDashboardChanged.forBuilding(id));
         return toAdminPayload(updated);
     }
 
@@ -116,6 +123,7 @@ public class BuildingService {
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete building: " + e.getMessage(), e);
         }
+        eventPublisher.publishEvent(DashboardCountersChanged.of(DashboardCounter.BUILDINGS, -1));
         
         return true;
     }
@@ -18,6 +18,11 @@ public final class ApplicationConstants {
     public static final LocalTime EARLIEST_RESERVATION_TIME = LocalTime.of(8, 0);
     public static final LocalTime LATEST_RESERVATION_TIME = LocalTime.of(23, 0);
     public static final int MAX_RESERVATION_DURATION_HOURS = 5;
+    public static final int MAX_AVAILABILITY_RANGE_DAYS = 31;
+    public static final int LAUNDRY_WEEKLY_LIMIT = 2;
+    public static final int RESOURCE_WEEKLY_LIMIT = 1;
+    public static final int MAX_RECURRING_OCCURRENCES = 26;
+    public static final int MAX_ADMIN_PAGE_SIZE = 100;
     
     // ========== LAUNDRY SLOTS ==========
     public static final List<LocalTime[]> LAUNDRY_SLOTS = List.of(
@@ -3,6 +3,7 @@ package com.montelzek.mydorm.dashboard;
 import com.montelzek.mydorm.dashboard.payload.AdminDashboardData;
 import com.montelzek.mydorm.dashboard.payload.ResidentDashboardData;
 import com.montelzek.mydorm.security.UserDetailsImpl;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,17 +18,18 @@ public class DashboardController {
 
     @QueryMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public AdminDashboardData adminDashboard() {
-        return dashboardService.getAdminDashboard();
+    public AdminDashboardData adminDashboard(DataFetchingFieldSelectionSet selectionSet) {
+        return dashboardService.getAdminDashboard(selectionSet::contains);
     }
 
     @QueryMapping
     @PreAuthorize("hasRole('RESIDENT')")
-    public ResidentDashboardData residentDashboard(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+    public ResidentDashboardData residentDashboard(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                   DataFetchingFieldSelectionSet selectionSet) {
         if (userDetails == null) {
             throw new IllegalArgumentException("User not authenticated");
         }
-        return dashboardService.getResidentDashboard(userDetails.getId());
+        return dashboardService.getResidentDashboard(userDetails.getId(), selectionSet::contains);
     }
 }
 
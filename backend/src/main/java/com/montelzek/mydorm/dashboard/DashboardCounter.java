@@ -0,0 +1,56 @@
+package com.montelzek.mydorm.dashboard;
+
+import com.montelzek.mydorm.issue.EIssuePriority;
+import com.montelzek.mydorm.issue.EIssueStatus;
+
+/**
+ * A column of dashboard_counters.
+ */
+public enum DashboardCounter {
+    RESIDENTS("total_residents"),
+    ROOMS("total_rooms"),
+    BUILDINGS("total_buildings"),
+    OCCUPIED_ROOMS("occupied_rooms"),
+    RESERVATIONS("total_reservations"),
+    ISSUES("total_issues"),
+    REPORTED_ISSUES("reported_issues"),
+    IN_PROGRESS_ISSUES("in_progress_issues"),
+    RESOLVED_ISSUES("resolved_issues"),
+    LOW_PRIORITY_ISSUES("low_priority_issues"),
+    MEDIUM_PRIORITY_ISSUES("medium_priority_issues"),
+    HIGH_PRIORITY_ISSUES("high_priority_issues");
+
+    private final String column;
+
+    DashboardCounter(String column) {
+        this.column = column;
+    }
+
+    String column() {
+        return column;
+    }
+
+    /**
+     * The counter for issues in the given status, or null if the dashboard does not count it.
+     */
+    public static DashboardCounter forStatus(EIssueStatus status) {
+        return switch (status) {
+            case REPORTED -> REPORTED_ISSUES;
+            case IN_PROGRESS -> IN_PROGRESS_ISSUES;
+            case RESOLVED -> RESOLVED_ISSUES;
+            default -> null;
+        };
+    }
+
+    /**
+     * The counter for issues of the given priority, or null if the dashboard does not count it.
+     */
+    public static DashboardCounter forPriority(EIssuePriority priority) {
+        return switch (priority) {
+            case LOW -> LOW_PRIORITY_ISSUES;
+            case MEDIUM -> MEDIUM_PRIORITY_ISSUES;
+            case HIGH -> HIGH_PRIORITY_ISSUES;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.montelzek.mydorm.dashboard;
+
+import com.montelzek.mydorm.reservation.SlotAvailabilityEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps dashboard_counters in step with the tables it counts. Committed changes are collected
+ * in memory and added to the row by a short periodic update, so concurrent writers never queue
+ * on it. Changes the services do not report (cascading deletes, manual SQL, deltas lost on a
+ * crash) are corrected by reconcile, which recounts everything from the source tables.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounterStore {
+
+    private final DashboardStatsRepository dashboardStatsRepository;
+
+    // Populated for every counter up front and never modified structurally afterwards
+    private final Map<DashboardCounter, AtomicLong> pending = initPending();
+
+    /**
+     * The maintained totals including changes that have not been written to the row yet.
+     */
+    DashboardCounts read() {
+        Map<DashboardCounter, Long> unflushed = new EnumMap<>(DashboardCounter.class);
+        pending.forEach((counter, delta) -> {
+            long value = delta.get();
+            if (value != 0) {
+                unflushed.put(counter, value);
+            }
+        });
+        return dashboardStatsRepository.readCounters().plus(unflushed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountersChanged(DashboardCountersChanged event) {
+        event.deltas().forEach((counter, delta) -> pending.get(counter).addAndGet(delta));
+    }
+
+    // Every taken slot is a newly inserted reservation
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotAvailabilityChanged(SlotAvailabilityEvent event) {
+        if (event.taken()) {
+            pending.get(DashboardCounter.RESERVATIONS).incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.counters.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<DashboardCounter, Long> deltas = new EnumMap<>(DashboardCounter.class);
+        pending.forEach((counter, delta) -> {
+            long value = delta.getAndSet(0);
+            if (value != 0) {
+                deltas.put(counter, value);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            dashboardStatsRepository.addToCounters(deltas);
+        } catch (RuntimeException e) {
+            deltas.forEach((counter, value) -> pending.get(counter).addAndGet(value));
+            log.warn("Could not write dashboard counter changes, will retry: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${dashboard.counters.reconcile-cron:0 */30 * * * *}", zone = "Europe/Warsaw")
+    public synchronized void reconcile() {
+        flush();
+        DashboardCounts actual = dashboardStatsRepository.countAll();
+        DashboardCounts stored = dashboardStatsRepository.readCounters();
+        if (!actual.equals(stored)) {
+            log.warn("Dashboard counters drifted from the source tables, stored {} actual {}", stored, actual);
+        }
+        dashboardStatsRepository.overwriteCounters(actual);
+    }
+
+    private static Map<DashboardCounter, AtomicLong> initPending() {
+        Map<DashboardCounter, AtomicLong> deltas = new EnumMap<>(DashboardCounter.class);
+        for (DashboardCounter counter : DashboardCounter.values()) {
+            deltas.put(counter, new AtomicLong());
+        }
+        return deltas;
+    }
+}
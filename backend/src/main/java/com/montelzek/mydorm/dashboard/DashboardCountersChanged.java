@@ -0,0 +1,33 @@
+package com.montelzek.mydorm.dashboard;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Published by the services that create, delete or move rows the admin dashboard counts.
+ * DashboardCounterStore applies the deltas once the publishing transaction has committed.
+ */
+public record DashboardCountersChanged(Map<DashboardCounter, Integer> deltas) {
+
+    public static DashboardCountersChanged none() {
+        return new DashboardCountersChanged(Map.of());
+    }
+
+    public static DashboardCountersChanged of(DashboardCounter counter, int delta) {
+        return none().and(counter, delta);
+    }
+
+    /**
+     * Returns an event with {@code delta} added to {@code counter}; a null counter is ignored.
+     */
+    public DashboardCountersChanged and(DashboardCounter counter, int delta) {
+        if (counter == null || delta == 0) {
+            return this;
+        }
+        Map<DashboardCounter, Integer> merged = new EnumMap<>(DashboardCounter.class);
+        merged.putAll(deltas);
+        merged.merge(counter, delta, Integer::sum);
+        return new DashboardCountersChanged(Collections.unmodifiableMap(merged));
+    }
+}
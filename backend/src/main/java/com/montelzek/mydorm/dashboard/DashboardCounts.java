@@ -0,0 +1,46 @@
+package com.montelzek.mydorm.dashboard;
+
+import java.util.Map;
+
+/**
+ * Every counter shown on the admin dashboard, read in one row by DashboardStatsRepository.
+ */
+record DashboardCounts(
+        long totalResidents,
+        long totalRooms,
+        long totalBuildings,
+        long occupiedRooms,
+        long availableRooms,
+        long totalReservations,
+        long totalIssues,
+        long reportedIssues,
+        long inProgressIssues,
+        long resolvedIssues,
+        long lowPriorityIssues,
+        long mediumPriorityIssues,
+        long highPriorityIssues
+) {
+
+    DashboardCounts plus(Map<DashboardCounter, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return this;
+        }
+        long rooms = totalRooms + deltas.getOrDefault(DashboardCounter.ROOMS, 0L);
+        long occupied = occupiedRooms + deltas.getOrDefault(DashboardCounter.OCCUPIED_ROOMS, 0L);
+        return new DashboardCounts(
+                totalResidents + deltas.getOrDefault(DashboardCounter.RESIDENTS, 0L),
+                rooms,
+                totalBuildings + deltas.getOrDefault(DashboardCounter.BUILDINGS, 0L),
+                occupied,
+                rooms - occupied,
+                totalReservations + deltas.getOrDefault(DashboardCounter.RESERVATIONS, 0L),
+                totalIssues + deltas.getOrDefault(DashboardCounter.ISSUES, 0L),
+                reportedIssues + deltas.getOrDefault(DashboardCounter.REPORTED_ISSUES, 0L),
+                inProgressIssues + deltas.getOrDefault(DashboardCounter.IN_PROGRESS_ISSUES, 0L),
+                resolvedIssues + deltas.getOrDefault(DashboardCounter.RESOLVED_ISSUES, 0L),
+                lowPriorityIssues + deltas.getOrDefault(DashboardCounter.LOW_PRIORITY_ISSUES, 0L),
+                mediumPriorityIssues + deltas.getOrDefault(DashboardCounter.MEDIUM_PRIORITY_ISSUES, 0L),
+                highPriorityIssues + deltas.getOrDefault(DashboardCounter.HIGH_PRIORITY_ISSUES, 0L)
+        );
+    }
+}
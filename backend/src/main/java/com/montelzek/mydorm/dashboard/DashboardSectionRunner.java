@@ -0,0 +1,220 @@
+package com.montelzek.mydorm.dashboard;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Loads dashboard sections concurrently, one virtual thread and one read-only transaction per
+ * section, so a dashboard takes as long as its slowest section rather than the sum of all.
+ * Every section has {@code dashboard.section-timeout-ms} to finish.
+ * <p>
+ * Each forked section holds a pooled connection, so at most
+ * {@code dashboard.max-concurrent-sections} run in the background across all requests; once
+ * those are busy, further sections run inline on the requesting thread, one at a time.
+ */
+@Component
+@Slf4j
+class DashboardSectionRunner {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TransactionTemplate readOnlyTransaction;
+    private final long timeoutMillis;
+    private final Semaphore backgroundPermits;
+
+    DashboardSectionRunner(PlatformTransactionManager transactionManager,
+                           @Value("${dashboard.section-timeout-ms:3000}") long timeoutMillis,
+                           @Value("${dashboard.max-concurrent-sections:4}") int maxConcurrentSections) {
+        this.timeoutMillis = timeoutMillis;
+        this.backgroundPermits = new Semaphore(maxConcurrentSections);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Lets the database cancel the statements of a section that has been given up on
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+    }
+
+    /**
+     * Starts a dashboard; its sections are forked through the returned group.
+     */
+    Group group() {
+        return new Group();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(Supplier<T> loader) {
+        if (!backgroundPermits.tryAcquire()) {
+            try {
+                return CompletableFuture.completedFuture(load(loader));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        BackgroundSection<T> task = new BackgroundSection<>(loader);
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            task.cancel(false);
+            throw e;
+        }
+        return task;
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        return readOnlyTransaction.execute(status -> loader.get());
+    }
+
+    /**
+     * Returns its permit exactly once: when it finishes running, or when it is cancelled
+     * before it started.
+     */
+    private final class BackgroundSection<T> extends FutureTask<T> {
+
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private BackgroundSection(Supplier<T> loader) {
+            super(() -> load(loader));
+        }
+
+        @Override
+        public void run() {
+            if (started.compareAndSet(false, true)) {
+                try {
+                    super.run();
+                } finally {
+                    backgroundPermits.release();
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (started.compareAndSet(false, true)) {
+                backgroundPermits.release();
+            }
+        }
+    }
+
+    /**
+     * The sections of one dashboard. A required section that fails cancels the others, so
+     * their connections are released instead of finishing work nobody will read.
+     */
+    final class Group {
+
+        private final List<Section<?>> sections = new ArrayList<>();
+
+        private Group() {
+        }
+
+        <T> Section<T> fork(String name, Supplier<T> loader) {
+            Section<T> section = new Section<>(this, name, submit(loader),
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+            sections.add(section);
+            return section;
+        }
+
+        /**
+         * Forks the section only if the client selected it; a section that was not selected joins as null.
+         */
+        <T> Section<T> forkIf(boolean selected, String name, Supplier<T> loader) {
+            if (!selected) {
+                return new Section<>(this, name, CompletableFuture.completedFuture(null), System.nanoTime());
+            }
+            return fork(name, loader);
+        }
+
+        private void cancelAll() {
+            sections.forEach(section -> section.future.cancel(true));
+        }
+    }
+
+    static final class Section<T> {
+
+        private final Group group;
+        private final String name;
+        private final Future<T> future;
+        private final long deadlineNanos;
+        private volatile boolean degraded;
+
+        private Section(Group group, String name, Future<T> future, long deadlineNanos) {
+            this.group = group;
+            this.name = name;
+            this.future = future;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * The section's result; failures and timeouts fail the whole dashboard and cancel the
+         * other sections.
+         */
+        T join() {
+            try {
+                return await();
+            } catch (RuntimeException e) {
+                group.cancelAll();
+                throw e;
+            }
+        }
+
+        /**
+         * The section's result, or {@code fallback} if it failed or timed out.
+         */
+        T joinOr(T fallback) {
+            try {
+                return await();
+            } catch (RuntimeException e) {
+                log.warn("Dashboard section {} unavailable, showing it empty: {}", name, e.getMessage());
+                degraded = true;
+                return fallback;
+            }
+        }
+
+        /**
+         * Whether {@link #joinOr} had to fall back.
+         */
+        boolean degraded() {
+            return degraded;
+        }
+
+        private T await() {
+            try {
+                return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Dashboard section " + name + " failed", e.getCause());
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw new IllegalStateException("Dashboard section " + name + " timed out");
+            } catch (CancellationException e) {
+                throw new IllegalStateException("Dashboard section " + name + " was cancelled");
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading dashboard section " + name);
+            }
+        }
+    }
+}
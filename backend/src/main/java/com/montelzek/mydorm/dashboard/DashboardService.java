@@ -2,14 +2,11 @@ package com.montelzek.mydorm.dashboard;
 
 import com.montelzek.mydorm.announcement.AnnouncementService;
 import com.montelzek.mydorm.announcement.payload.AnnouncementPayload;
-import com.montelzek.mydorm.building.BuildingRepository;
 import com.montelzek.mydorm.dashboard.payload.*;
 import com.montelzek.mydorm.event.Event;
 import com.montelzek.mydorm.event.EventRepository;
 import com.montelzek.mydorm.event.EventService;
 import com.montelzek.mydorm.event.payload.EventPayload;
-import com.montelzek.mydorm.issue.EIssuePriority;
-import com.montelzek.mydorm.issue.EIssueStatus;
 import com.montelzek.mydorm.issue.Issue;
 import com.montelzek.mydorm.issue.IssueRepository;
 import com.montelzek.mydorm.issue.payload.IssuePayload;
@@ -18,108 +15,136 @@ import com.montelzek.mydorm.reservation.Reservation;
 import com.montelzek.mydorm.reservation.ReservationRepository;
 import com.montelzek.mydorm.reservation.ReservationService;
 import com.montelzek.mydorm.reservation.payload.GraphQLPayloads.ReservationPayload;
-import com.montelzek.mydorm.room.RoomRepository;
-import com.montelzek.mydorm.user.ERole;
 import com.montelzek.mydorm.user.User;
 import com.montelzek.mydorm.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
+    private static final List<String> RESIDENT_DASHBOARD_SECTIONS = List.of(
+            "userInfo", "stats", "myActiveReservations", "myIssues", "upcomingEvents", "activeAnnouncements");
+
     private final UserRepository userRepository;
-    private final RoomRepository roomRepository;
-    private final BuildingRepository buildingRepository;
     private final IssueRepository issueRepository;
     private final ReservationRepository reservationRepository;
     private final EventRepository eventRepository;
+    private final DashboardCounterStore dashboardCounterStore;
+    private final DashboardSectionRunner sectionRunner;
+    private final ResidentDashboardCache residentDashboardCache;
 
     private final AnnouncementService announcementService;
     private final EventService eventService;
     private final IssueService issueService;
     private final ReservationService reservationService;
 
-    @Transactional(readOnly = true)
-    public AdminDashboardData getAdminDashboard() {
-        AdminDashboardStats stats = getAdminStats();
-        IssueStats issueStats = getIssueStats();
-        List<RecentIssuePayload> recentIssues = getRecentIssues();
-        List<EventPayload> upcomingEvents = getUpcomingEvents();
-        List<RecentReservationPayload> recentReservations = getRecentReservations();
-        List<AnnouncementPayload> activeAnnouncements = getActiveAnnouncementsForAdmin();
-
+    /**
+     * Loads the sections the client selected, concurrently; {@code selected} tells whether a
+     * field of AdminDashboardData was requested and unselected fields stay null. Stats are
+     * required; a list section that fails or times out is shown empty instead of failing the
+     * dashboard.
+     */
+    public AdminDashboardData getAdminDashboard(Predicate<String> selected) {
+        DashboardSectionRunner.Group sections = sectionRunner.group();
+        DashboardSectionRunner.Section<DashboardCounts> counts = sections.forkIf(
+                selected.test("stats") || selected.test("issueStats"), "stats", dashboardCounterStore::read);
+        DashboardSectionRunner.Section<List<RecentIssuePayload>> recentIssues = sections.forkIf(
+                selected.test("recentIssues"), "recentIssues", this::getRecentIssues);
+        DashboardSectionRunner.Section<List<EventPayload>> upcomingEvents = sections.forkIf(
+                selected.test("upcomingEvents"), "upcomingEvents", this::getUpcomingEvents);
+        DashboardSectionRunner.Section<List<RecentReservationPayload>> recentReservations = sections.forkIf(
+                selected.test("recentReservations"), "recentReservations", this::getRecentReservations);
+        DashboardSectionRunner.Section<List<AnnouncementPayload>> activeAnnouncements = sections.forkIf(
+                selected.test("activeAnnouncements"), "activeAnnouncements", this::getActiveAnnouncementsForAdmin);
+
+        DashboardCounts counters = counts.join();
         return new AdminDashboardData(
-                stats,
-                issueStats,
-                recentIssues,
-                upcomingEvents,
-                recentReservations,
-                activeAnnouncements
+                selected.test("stats") ? toAdminStats(counters) : null,
+                selected.test("issueStats") ? toIssueStats(counters) : null,
+                recentIssues.joinOr(List.of()),
+                upcomingEvents.joinOr(List.of()),
+                recentReservations.joinOr(List.of()),
+                activeAnnouncements.joinOr(List.of())
         );
     }
 
-    @Transactional(readOnly = true)
-    public ResidentDashboardData getResidentDashboard(Long userId) {
-        ResidentUserInfo userInfo = getResidentUserInfo(userId);
-        ResidentStats stats = getResidentStats(userId);
-        List<ReservationPayload> myActiveReservations = getMyActiveReservations(userId);
-        List<IssuePayload> myIssues = getMyIssues(userId);
-        List<EventPayload> upcomingEvents = getUpcomingEventsForResident(userId);
-        List<AnnouncementPayload> activeAnnouncements = announcementService.getActiveAnnouncementsForResident(userId);
-
-        return new ResidentDashboardData(
-                userInfo,
-                stats,
-                myActiveReservations,
-                myIssues,
-                upcomingEvents,
-                activeAnnouncements
+    /**
+     * Resident counterpart of {@link #getAdminDashboard}; user info and stats are required.
+     * Served from ResidentDashboardCache when possible; only complete dashboards are cached.
+     */
+    public ResidentDashboardData getResidentDashboard(Long userId, Predicate<String> selected) {
+        ResidentDashboardData cached = residentDashboardCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        ResidentDashboardCache.Generation cacheGeneration = residentDashboardCache.generation(userId);
+        Long buildingId = userRepository.findBuildingIdByUserId(userId).orElse(null);
+
+        DashboardSectionRunner.Group sections = sectionRunner.group();
+
+        DashboardSectionRunner.Section<ResidentUserInfo> userInfo = sections.forkIf(
+                selected.test("userInfo"), "userInfo", () -> getResidentUserInfo(userId));
+        DashboardSectionRunner.Section<ResidentStats> stats = sections.forkIf(
+                selected.test("stats"), "stats", () -> getResidentStats(userId));
+        DashboardSectionRunner.Section<List<ReservationPayload>> myActiveReservations = sections.forkIf(
+                selected.test("myActiveReservations"), "myActiveReservations", () -> getMyActiveReservations(userId));
+        DashboardSectionRunner.Section<List<IssuePayload>> myIssues = sections.forkIf(
+                selected.test("myIssues"), "myIssues", () -> getMyIssues(userId));
+        DashboardSectionRunner.Section<List<EventPayload>> upcomingEvents = sections.forkIf(
+                selected.test("upcomingEvents"), "upcomingEvents", () -> getUpcomingEventsForBuilding(buildingId));
+        DashboardSectionRunner.Section<List<AnnouncementPayload>> activeAnnouncements = sections.forkIf(
+                selected.test("activeAnnouncements"), "activeAnnouncements",
+                () -> announcementService.getActiveAnnouncementsForResident(userId));
+
+        ResidentDashboardData dashboard = new ResidentDashboardData(
+                userInfo.join(),
+                stats.join(),
+                myActiveReservations.joinOr(List.of()),
+                myIssues.joinOr(List.of()),
+                upcomingEvents.joinOr(List.of()),
+                activeAnnouncements.joinOr(List.of())
         );
-    }
 
-    private AdminDashboardStats getAdminStats() {
-        Long totalResidents = userRepository.countByRolesContaining(ERole.ROLE_RESIDENT);
-        Long totalRooms = roomRepository.count();
-        Long totalBuildings = buildingRepository.count();
-        Long occupiedRooms = roomRepository.countOccupiedRooms();
-        Long availableRooms = roomRepository.countAvailableRooms();
-        Long totalReservations = reservationRepository.count();
-        Long totalIssues = issueRepository.count();
+        boolean complete = RESIDENT_DASHBOARD_SECTIONS.stream().allMatch(selected)
+                && Stream.of(myActiveReservations, myIssues, upcomingEvents, activeAnnouncements)
+                        .noneMatch(DashboardSectionRunner.Section::degraded);
+        if (complete) {
+            residentDashboardCache.put(userId, buildingId, dashboard, cacheGeneration);
+        }
+        return dashboard;
+    }
 
+    private AdminDashboardStats toAdminStats(DashboardCounts counts) {
         return new AdminDashboardStats(
-                totalResidents.intValue(),
-                totalRooms.intValue(),
-                totalBuildings.intValue(),
-                occupiedRooms.intValue(),
-                availableRooms.intValue(),
-                totalReservations.intValue(),
-                totalIssues.intValue()
+                (int) counts.totalResidents(),
+                (int) counts.totalRooms(),
+                (int) counts.totalBuildings(),
+                (int) counts.occupiedRooms(),
+                (int) counts.availableRooms(),
+                (int) counts.totalReservations(),
+                (int) counts.totalIssues()
         );
     }
 
-    private IssueStats getIssueStats() {
-        Long reported = issueRepository.countByStatus(EIssueStatus.REPORTED);
-        Long inProgress = issueRepository.countByStatus(EIssueStatus.IN_PROGRESS);
-        Long resolved = issueRepository.countByStatus(EIssueStatus.RESOLVED);
-        Long lowPriority = issueRepository.countByPriority(EIssuePriority.LOW);
-        Long mediumPriority = issueRepository.countByPriority(EIssuePriority.MEDIUM);
-        Long highPriority = issueRepository.countByPriority(EIssuePriority.HIGH);
-
+    private IssueStats toIssueStats(DashboardCounts counts) {
         return new IssueStats(
-                reported.intValue(),
-                inProgress.intValue(),
-                resolved.intValue(),
-                lowPriority.intValue(),
-                mediumPriority.intValue(),
-                highPriority.intValue()
+                (int) counts.reportedIssues(),
+                (int) counts.inProgressIssues(),
+                (int) counts.resolvedIssues(),
+                (int) counts.lowPriorityIssues(),
+                (int) counts.mediumPriorityIssues(),
+                (int) counts.highPriorityIssues()
         );
     }
 
@@ -156,7 +181,8 @@ public class DashboardService {
     }
 
     private ResidentUserInfo getResidentUserInfo(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findAllWithRoomByIdIn(List.of(userId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         String roomNumber = user.getRoom() != null ? user.getRoom().getRoomNumber() : null;
@@ -175,38 +201,27 @@ public class DashboardService {
     }
 
     private ResidentStats getResidentStats(Long userId) {
-        Long totalReservations = (long) reservationRepository.findByUserId(userId).size();
-        Long totalIssues = (long) issueRepository.findByUserId(userId).size();
-
         return new ResidentStats(
-                totalReservations.intValue(),
-                totalIssues.intValue()
+                (int) reservationRepository.countByUserId(userId),
+                (int) issueRepository.countByUserId(userId)
         );
     }
 
     private List<ReservationPayload> getMyActiveReservations(Long userId) {
-        List<Reservation> reservations = reservationRepository.findByUserIdAndStartTimeAfter(userId, LocalDateTime.now());
+        List<Reservation> reservations = reservationRepository.findByUserIdAndStartTimeAfter(userId, LocalDateTime.now(), Limit.of(5));
         return reservations.stream()
-                .limit(5)
                 .map(reservationService::toPayload)
                 .collect(Collectors.toList());
     }
 
     private List<IssuePayload> getMyIssues(Long userId) {
-        List<Issue> issues = issueRepository.findByUserId(userId);
+        List<Issue> issues = issueRepository.findByUserIdOrderByCreatedAtDesc(userId, Limit.of(10));
         return issues.stream()
-                .limit(10)
                 .map(issueService::toPayload)
                 .collect(Collectors.toList());
     }
 
-    private List<EventPayload> getUpcomingEventsForResident(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Long buildingId = user.getRoom() != null && user.getRoom().getBuilding() != null 
-                ? user.getRoom().getBuilding().getId() : null;
-
+    private List<EventPayload> getUpcomingEventsForBuilding(Long buildingId) {
         List<Event> events = eventRepository.findTop5ByEventDateAndBuildingOrderByEventDateAsc(
                 LocalDate.now(), buildingId);
         
@@ -0,0 +1,117 @@
+package com.montelzek.mydorm.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+class DashboardStatsRepository {
+
+    // One scan per table; the per-status and per-priority counters come from FILTER clauses
+    private static final String COUNT_ALL = """
+            SELECT (SELECT COUNT(*) FROM user_roles WHERE role_name = 'ROLE_RESIDENT') AS total_residents,
+                   rm.total_rooms,
+                   (SELECT COUNT(*) FROM buildings) AS total_buildings,
+                   rm.occupied_rooms,
+                   rm.total_rooms - rm.occupied_rooms AS available_rooms,
+                   (SELECT COUNT(*) FROM reservations) AS total_reservations,
+                   iss.total_issues,
+                   iss.reported,
+                   iss.in_progress,
+                   iss.resolved,
+                   iss.low_priority,
+                   iss.medium_priority,
+                   iss.high_priority
+            FROM (SELECT COUNT(*) AS total_rooms,
+                         COUNT(*) FILTER (WHERE EXISTS (SELECT 1 FROM users u WHERE u.room_id = r.id)) AS occupied_rooms
+                  FROM rooms r) rm
+            CROSS JOIN (SELECT COUNT(*) AS total_issues,
+                               COUNT(*) FILTER (WHERE status = 'REPORTED') AS reported,
+                               COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress,
+                               COUNT(*) FILTER (WHERE status = 'RESOLVED') AS resolved,
+                               COUNT(*) FILTER (WHERE priority = 'LOW') AS low_priority,
+                               COUNT(*) FILTER (WHERE priority = 'MEDIUM') AS medium_priority,
+                               COUNT(*) FILTER (WHERE priority = 'HIGH') AS high_priority
+                        FROM issues) iss
+            """;
+
+    private static final String READ_COUNTERS = """
+            SELECT total_residents, total_rooms, total_buildings, occupied_rooms,
+                   total_rooms - occupied_rooms AS available_rooms, total_reservations, total_issues,
+                   reported_issues AS reported, in_progress_issues AS in_progress, resolved_issues AS resolved,
+                   low_priority_issues AS low_priority, medium_priority_issues AS medium_priority,
+                   high_priority_issues AS high_priority
+            FROM dashboard_counters
+            WHERE id = 1
+            """;
+
+    private static final String OVERWRITE_COUNTERS = """
+            UPDATE dashboard_counters
+            SET total_residents = ?, total_rooms = ?, total_buildings = ?, occupied_rooms = ?,
+                total_reservations = ?, total_issues = ?, reported_issues = ?, in_progress_issues = ?,
+                resolved_issues = ?, low_priority_issues = ?, medium_priority_issues = ?, high_priority_issues = ?,
+                updated_at = NOW(), reconciled_at = NOW()
+            WHERE id = 1
+            """;
+
+    private static final RowMapper<DashboardCounts> COUNTS_MAPPER = (rs, rowNum) -> new DashboardCounts(
+            rs.getLong("total_residents"),
+            rs.getLong("total_rooms"),
+            rs.getLong("total_buildings"),
+            rs.getLong("occupied_rooms"),
+            rs.getLong("available_rooms"),
+            rs.getLong("total_reservations"),
+            rs.getLong("total_issues"),
+            rs.getLong("reported"),
+            rs.getLong("in_progress"),
+            rs.getLong("resolved"),
+            rs.getLong("low_priority"),
+            rs.getLong("medium_priority"),
+            rs.getLong("high_priority")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Recounts everything from the source tables.
+     */
+    DashboardCounts countAll() {
+        return jdbcTemplate.queryForObject(COUNT_ALL, COUNTS_MAPPER);
+    }
+
+    /**
+     * Reads the maintained totals from dashboard_counters.
+     */
+    DashboardCounts readCounters() {
+        return jdbcTemplate.queryForObject(READ_COUNTERS, COUNTS_MAPPER);
+    }
+
+    void addToCounters(Map<DashboardCounter, Long> deltas) {
+        String assignments = deltas.keySet().stream()
+                .map(counter -> counter.column() + " = " + counter.column() + " + ?")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.update("UPDATE dashboard_counters SET " + assignments + ", updated_at = NOW() WHERE id = 1",
+                deltas.values().toArray());
+    }
+
+    void overwriteCounters(DashboardCounts counts) {
+        jdbcTemplate.update(OVERWRITE_COUNTERS,
+                counts.totalResidents(),
+                counts.totalRooms(),
+                counts.totalBuildings(),
+                counts.occupiedRooms(),
+                counts.totalReservations(),
+                counts.totalIssues(),
+                counts.reportedIssues(),
+                counts.inProgressIssues(),
+                counts.resolvedIssues(),
+                counts.lowPriorityIssues(),
+                counts.mediumPriorityIssues(),
+                counts.highPriorityIssues());
+    }
+}
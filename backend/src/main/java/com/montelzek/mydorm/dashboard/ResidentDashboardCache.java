@@ -0,0 +1,109 @@
+package com.montelzek.mydorm.dashboard;
+
+import com.montelzek.mydorm.dashboard.payload.ResidentDashboardData;
+import com.montelzek.mydorm.reservation.SlotAvailabilityEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Complete resident dashboards by user id, least recently used first out once
+ * {@code dashboard.resident-cache.max-size} is reached and expired after
+ * {@code dashboard.resident-cache.ttl-seconds}. The expiry bounds how stale time-dependent
+ * content gets (an announcement ending, a reservation starting); changes to a resident's own
+ * reservations, issues and profile, and to announcements and events of their building, drop
+ * the entry immediately.
+ */
+@Component
+public class ResidentDashboardCache {
+
+    // Invalidation counters for per-user versions, striped so that memory stays fixed
+    private static final int USER_VERSION_STRIPES = 1024;
+
+    private record Entry(ResidentDashboardData data, Long buildingId, long expiresAtNanos) {}
+
+    /**
+     * Invalidation counters observed before a dashboard was loaded; see {@link #put}.
+     */
+    public record Generation(long epoch, long userVersion) {}
+
+    private final long ttlNanos;
+    private final Map<Long, Entry> entries;
+
+    // A dashboard loaded concurrently with an invalidation that covers it is not stored. Changes
+    // to one resident bump only that resident's version; building-wide and all-resident changes
+    // bump the epoch.
+    private final AtomicLongArray userVersions = new AtomicLongArray(USER_VERSION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+
+    public ResidentDashboardCache(@Value("${dashboard.resident-cache.max-size:10000}") int maxSize,
+                                  @Value("${dashboard.resident-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized ResidentDashboardData get(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            entries.remove(userId);
+            return null;
+        }
+        return entry.data();
+    }
+
+    /**
+     * The generation to pass to {@link #put} for a dashboard of this user about to be loaded.
+     */
+    public Generation generation(Long userId) {
+        return new Generation(epoch.get(), userVersions.get(stripe(userId)));
+    }
+
+    /**
+     * Stores a dashboard unless an invalidation covering it happened since {@code loadedAt}.
+     */
+    public synchronized void put(Long userId, Long buildingId, ResidentDashboardData data, Generation loadedAt) {
+        if (!generation(userId).equals(loadedAt)) {
+            return;
+        }
+        entries.put(userId, new Entry(data, buildingId, System.nanoTime() + ttlNanos));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onResidentDashboardChanged(ResidentDashboardChanged event) {
+        if (event.userId() != null) {
+            userVersions.incrementAndGet(stripe(event.userId()));
+            entries.remove(event.userId());
+        }
+        if (event.allResidents()) {
+            epoch.incrementAndGet();
+            entries.clear();
+        } else if (!event.buildingIds().isEmpty()) {
+            epoch.incrementAndGet();
+            // Residents without a room see the events of every building
+            entries.values().removeIf(entry -> entry.buildingId() == null || event.buildingIds().contains(entry.buildingId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotAvailabilityChanged(SlotAvailabilityEvent event) {
+        onResidentDashboardChanged(ResidentDashboardChanged.forUser(event.userId()));
+    }
+
+    private static int stripe(Long userId) {
+        return (Long.hashCode(userId) & 0x7fffffff) % USER_VERSION_STRIPES;
+    }
+}
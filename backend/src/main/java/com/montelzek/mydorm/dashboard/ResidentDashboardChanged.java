@@ -0,0 +1,33 @@
+package com.montelzek.mydorm.dashboard;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published when something shown on resident dashboards changes, either for one resident or
+ * for the residents of some buildings. ResidentDashboardCache drops the affected entries once
+ * the publishing transaction has committed.
+ */
+public record ResidentDashboardChanged(Long userId, Set<Long> buildingIds, boolean allResidents) {
+
+    public static ResidentDashboardChanged forUser(Long userId) {
+        return new ResidentDashboardChanged(userId, Set.of(), false);
+    }
+
+    /**
+     * For content shown in the given buildings. A null id stands for content shown in every
+     * building, as does an empty collection.
+     */
+    public static ResidentDashboardChanged forBuildings(Collection<Long> buildingIds) {
+        boolean everywhere = buildingIds.isEmpty() || buildingIds.stream().anyMatch(Objects::isNull);
+        Set<Long> ids = buildingIds.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+        return new ResidentDashboardChanged(null, ids, everywhere);
+    }
+
+    public static ResidentDashboardChanged forBuilding(Long buildingId) {
+        return forBuildings(Collections.singletonList(buildingId));
+    }
+}
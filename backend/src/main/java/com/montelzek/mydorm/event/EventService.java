@@ -2,11 +2,14 @@ package com.montelzek.mydorm.event;
 
 import com.montelzek.mydorm.building.Building;
 import com.montelzek.mydorm.building.BuildingRepository;
+import com.montelzek.mydorm.dashboard.ResidentDashboardChanged;
 import com.montelzek.mydorm.event.payload.*;
+import com.montelzek.mydorm.reservation.ReservationService;
 import com.montelzek.mydorm.reservation_resource.ReservationResource;
 import com.montelzek.mydorm.reservation_resource.ReservationResourceRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -14,8 +17,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +31,8 @@ public class EventService {
     private final EventRepository eventRepository;
     private final BuildingRepository buildingRepository;
     private final ReservationResourceRepository resourceRepository;
+    private final ReservationService reservationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
@@ -53,6 +60,8 @@ public class EventService {
         }
 
         Event savedEvent = eventRepository.save(event);
+        cancelReservationsClaimedBy(savedEvent);
+        eventPublisher.publishEvent(ResidentDashboardChanged.forBuilding(buildingId(savedEvent)));
         return toPayload(savedEvent);
     }
 
@@ -60,6 +69,7 @@ public class EventService {
     public EventPayload updateEvent(Long id, UpdateEventInput input) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found: " + id));
+        Long previousBuildingId = buildingId(event);
 
         event.setTitle(input.title());
         event.setDescription(input.description());
@@ -84,6 +94,9 @@ public class EventService {
         }
 
         Event updatedEvent = eventRepository.save(event);
+        cancelReservationsClaimedBy(updatedEvent);
+        eventPublisher.publishEvent(ResidentDashboardChanged.forBuildings(
+                Arrays.asList(previousBuildingId, buildingId(updatedEvent))));
         return toPayload(updatedEvent);
     }
 
@@ -92,6 +105,7 @@ public class EventService {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found: " + id));
         eventRepository.delete(event);
+        eventPublisher.publishEvent(ResidentDashboardChanged.forBuilding(buildingId(event)));
         return true;
     }
 
@@ -130,6 +144,20 @@ public class EventService {
                 .collect(Collectors.toList());
     }
 
+    // An event held in a resource takes precedence over residents' reservations of it
+    private void cancelReservationsClaimedBy(Event event) {
+        if (event.getResource() == null) {
+            return;
+        }
+        LocalDateTime start = event.getEventDate().atTime(event.getStartTime());
+        LocalDateTime end = event.getEventDate().atTime(event.getEndTime());
+        if (!end.isAfter(start)) {
+            // Ends after midnight
+            end = end.plusDays(1);
+        }
+        reservationService.cancelReservationsForResource(event.getResource().getId(), start, end);
+    }
+
     public EventPayload toPayload(Event event) {
         EventBuildingPayload buildingPayload = null;
         if (event.getBuilding() != null) {
@@ -160,5 +188,9 @@ public class EventService {
                 event.getUpdatedAt().format(DATE_TIME_FORMATTER)
         );
     }
-}
 
+    // Null for events shown in every building
+    private static Long buildingId(Event event) {
+        return event.getBuilding() != null ? event.getBuilding().getId() : null;
+    }
+}
@@ -18,7 +18,11 @@ public enum ErrorCodes {
     STANDARD_IN_USE("STANDARD_IN_USE", "Room standard is assigned to one or more rooms"),
     INTERNAL_ERROR("INTERNAL_ERROR", "Server error occurred"),
     LAUNDRY_WEEKLY_LIMIT("LAUNDRY_WEEKLY_LIMIT", "You have reached the weekly limit of 2 laundry reservations"),
-    RESOURCE_WEEKLY_LIMIT("RESOURCE_WEEKLY_LIMIT", "You have already reserved this resource once this week");
+    RESOURCE_WEEKLY_LIMIT("RESOURCE_WEEKLY_LIMIT", "You have already reserved this resource once this week"),
+    SLOT_AVAILABLE("SLOT_AVAILABLE", "This slot is free and can be booked directly"),
+    ALREADY_ON_WAITLIST("ALREADY_ON_WAITLIST", "You are already on the waitlist for this slot"),
+    RATE_LIMITED("RATE_LIMITED", "Too many requests, please try again shortly"),
+    IDEMPOTENCY_KEY_REUSED("IDEMPOTENCY_KEY_REUSED", "This idempotency key was already used for a different request");
     
     private final String code;
     private final String defaultMessage;
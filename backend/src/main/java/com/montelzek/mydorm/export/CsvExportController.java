@@ -0,0 +1,69 @@
+package com.montelzek.mydorm.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * CSV downloads for the admin lists. Rows are written to the response as they are read from
+ * the database instead of being collected first.
+ */
+@RestController
+@RequestMapping("/api/export")
+@AllArgsConstructor
+public class CsvExportController {
+
+    private final CsvExportService csvExportService;
+
+    @GetMapping("/reservations")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportReservations(@RequestParam(required = false) Long resourceId,
+                                   @RequestParam(required = false) Long buildingId,
+                                   @RequestParam(required = false) String status,
+                                   @RequestParam(required = false) String from,
+                                   @RequestParam(required = false) String to,
+                                   HttpServletResponse response) throws IOException {
+        Writer out = openCsv(response, "reservations");
+        csvExportService.exportReservations(out, resourceId, buildingId, status, from, to);
+    }
+
+    @GetMapping("/issues")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportIssues(@RequestParam(required = false) String status,
+                             @RequestParam(required = false) String priority,
+                             @RequestParam(required = false) Long buildingId,
+                             HttpServletResponse response) throws IOException {
+        Writer out = openCsv(response, "issues");
+        csvExportService.exportIssues(out, status, priority, buildingId);
+    }
+
+    @GetMapping("/residents")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportResidents(@RequestParam(required = false) String search,
+                                @RequestParam(required = false) Long buildingId,
+                                HttpServletResponse response) throws IOException {
+        Writer out = openCsv(response, "residents");
+        csvExportService.exportResidents(out, search, buildingId);
+    }
+
+    // Nothing is sent before the first flush, so filter errors still produce a regular error response
+    private static Writer openCsv(HttpServletResponse response, String name) throws IOException {
+        response.setContentType("text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "-" + LocalDate.now() + ".csv\"");
+        return new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package com.montelzek.mydorm.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Flat export rows read straight from JDBC. Every query streams through a forward-only cursor
+ * of {@code export.fetch-size} rows, so it has to run inside a transaction (the PostgreSQL
+ * driver ignores the fetch size in autocommit mode) and the stream has to be closed.
+ */
+@Repository
+public class CsvExportRepository {
+
+    static final String[] RESERVATION_COLUMNS = {
+            "id", "status", "start_time", "end_time", "resource", "resource_type", "building",
+            "user_email", "user_first_name", "user_last_name", "room", "created_at"
+    };
+
+    static final String[] ISSUE_COLUMNS = {
+            "id", "title", "description", "status", "priority", "building", "room",
+            "reporter_email", "reporter_name", "technician_email", "created_at", "updated_at"
+    };
+
+    static final String[] RESIDENT_COLUMNS = {
+            "id", "email", "first_name", "last_name", "phone", "building", "room", "active", "created_at"
+    };
+
+    private static final String RESERVATIONS = """
+            SELECT r.id, r.status,
+                   to_char(r.start_time, 'YYYY-MM-DD HH24:MI:SS'),
+                   to_char(r.end_time, 'YYYY-MM-DD HH24:MI:SS'),
+                   rr.name, rr.resource_type, b.name,
+                   u.email, u.first_name, u.last_name, rm.room_number,
+                   to_char(r.created_at, 'YYYY-MM-DD HH24:MI:SS')
+            FROM reservations r
+            JOIN reservation_resources rr ON rr.id = r.resource_id
+            LEFT JOIN buildings b ON b.id = rr.building_id
+            JOIN users u ON u.id = r.user_id
+            LEFT JOIN rooms rm ON rm.id = u.room_id
+            WHERE (CAST(:resourceId AS BIGINT) IS NULL OR r.resource_id = :resourceId)
+              AND (CAST(:buildingId AS BIGINT) IS NULL OR rr.building_id = :buildingId)
+              AND (CAST(:status AS VARCHAR) IS NULL OR r.status = :status)
+              AND (CAST(:from AS TIMESTAMP) IS NULL OR r.start_time >= :from)
+              AND (CAST(:to AS TIMESTAMP) IS NULL OR r.start_time < :to)
+            ORDER BY r.start_time, r.id
+            """;
+
+    private static final String ISSUES = """
+            SELECT i.id, i.title, i.description, i.status, i.priority, b.name, rm.room_number,
+                   u.email, u.first_name || ' ' || u.last_name, t.email,
+                   to_char(i.created_at, 'YYYY-MM-DD HH24:MI:SS'),
+                   to_char(i.updated_at, 'YYYY-MM-DD HH24:MI:SS')
+            FROM issues i
+            LEFT JOIN buildings b ON b.id = i.building_id
+            LEFT JOIN rooms rm ON rm.id = i.room_id
+            LEFT JOIN users u ON u.id = i.user_id
+            LEFT JOIN users t ON t.id = i.assigned_technician_id
+            WHERE (CAST(:status AS VARCHAR) IS NULL OR i.status = :status)
+              AND (CAST(:priority AS VARCHAR) IS NULL OR i.priority = :priority)
+              AND (CAST(:buildingId AS BIGINT) IS NULL OR i.building_id = :buildingId)
+            ORDER BY i.created_at DESC, i.id DESC
+            """;
+
+    // Same name/room matching as UserRepository.NAME_OR_ROOM_MATCHES
+    private static final String RESIDENTS = """
+            SELECT u.id, u.email, u.first_name, u.last_name, u.phone, b.name, rm.room_number, u.is_active,
+                   to_char(u.created_at, 'YYYY-MM-DD HH24:MI:SS')
+            FROM users u
+            JOIN user_roles ur ON ur.user_id = u.id AND ur.role_name = 'ROLE_RESIDENT'
+            LEFT JOIN rooms rm ON rm.id = u.room_id
+            LEFT JOIN buildings b ON b.id = rm.building_id
+            WHERE (CAST(:buildingId AS BIGINT) IS NULL OR rm.building_id = :buildingId)
+              AND (CAST(:pattern AS VARCHAR) IS NULL
+                   OR LOWER(u.first_name) LIKE :pattern ESCAPE '!'
+                   OR LOWER(u.last_name) LIKE :pattern ESCAPE '!'
+                   OR LOWER(rm.room_number) LIKE :pattern ESCAPE '!')
+            ORDER BY u.last_name, u.first_name, u.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CsvExportRepository(DataSource dataSource, @Value("${export.fetch-size:500}") int fetchSize) {
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+    }
+
+    public Stream<String[]> streamReservations(Long resourceId, Long buildingId, String status,
+                                               LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("resourceId", resourceId)
+                .addValue("buildingId", buildingId)
+                .addValue("status", status)
+                .addValue("from", from)
+                .addValue("to", to);
+        return jdbcTemplate.queryForStream(RESERVATIONS, params, columns(RESERVATION_COLUMNS.length));
+    }
+
+    public Stream<String[]> streamIssues(String status, String priority, Long buildingId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("status", status)
+                .addValue("priority", priority)
+                .addValue("buildingId", buildingId);
+        return jdbcTemplate.queryForStream(ISSUES, params, columns(ISSUE_COLUMNS.length));
+    }
+
+    public Stream<String[]> streamResidents(String pattern, Long buildingId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("pattern", pattern)
+                .addValue("buildingId", buildingId);
+        return jdbcTemplate.queryForStream(RESIDENTS, params, columns(RESIDENT_COLUMNS.length));
+    }
+
+    private static RowMapper<String[]> columns(int count) {
+        return (rs, rowNum) -> {
+            String[] row = new String[count];
+            for (int i = 0; i < count; i++) {
+                row[i] = rs.getString(i + 1);
+            }
+            return row;
+        };
+    }
+}
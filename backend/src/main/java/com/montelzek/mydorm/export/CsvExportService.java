@@ -0,0 +1,93 @@
+package com.montelzek.mydorm.export;
+
+import com.montelzek.mydorm.issue.EIssuePriority;
+import com.montelzek.mydorm.issue.EIssueStatus;
+import com.montelzek.mydorm.util.SearchPatterns;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor
+public class CsvExportService {
+
+    private static final Set<String> RESERVATION_STATUSES = Set.of("CONFIRMED", "COMPLETED", "CANCELLED");
+
+    private final CsvExportRepository csvExportRepository;
+
+    /**
+     * Writes reservations starting between {@code from} and {@code to} (both inclusive dates).
+     */
+    @Transactional
+    public void exportReservations(Writer out, Long resourceId, Long buildingId, String status, String from, String to) {
+        String statusFilter = enumFilter(status, RESERVATION_STATUSES, "status");
+        LocalDate fromDate = parseDate(from, "from");
+        LocalDate toDate = parseDate(to, "to");
+        LocalDateTime fromTime = fromDate != null ? fromDate.atStartOfDay() : null;
+        LocalDateTime toTime = toDate != null ? toDate.plusDays(1).atStartOfDay() : null;
+
+        try (Stream<String[]> rows = csvExportRepository.streamReservations(resourceId, buildingId, statusFilter, fromTime, toTime)) {
+            write(out, CsvExportRepository.RESERVATION_COLUMNS, rows);
+        }
+    }
+
+    @Transactional
+    public void exportIssues(Writer out, String status, String priority, Long buildingId) {
+        String statusFilter = enumFilter(status, names(EIssueStatus.values()), "status");
+        String priorityFilter = enumFilter(priority, names(EIssuePriority.values()), "priority");
+
+        try (Stream<String[]> rows = csvExportRepository.streamIssues(statusFilter, priorityFilter, buildingId)) {
+            write(out, CsvExportRepository.ISSUE_COLUMNS, rows);
+        }
+    }
+
+    @Transactional
+    public void exportResidents(Writer out, String search, Long buildingId) {
+        String pattern = search != null && !search.isBlank() ? SearchPatterns.contains(search) : null;
+
+        try (Stream<String[]> rows = csvExportRepository.streamResidents(pattern, buildingId)) {
+            write(out, CsvExportRepository.RESIDENT_COLUMNS, rows);
+        }
+    }
+
+    private static void write(Writer out, String[] header, Stream<String[]> rows) {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow(header);
+        rows.forEach(csv::writeRow);
+        csv.flush();
+    }
+
+    private static String enumFilter(String value, Set<String> allowed, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase();
+        if (!allowed.contains(normalized)) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+        return normalized;
+    }
+
+    private static Set<String> names(Enum<?>[] values) {
+        return Stream.of(values).map(Enum::name).collect(Collectors.toSet());
+    }
+
+    private static LocalDate parseDate(String value, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + " date, expected yyyy-MM-dd: " + value);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.montelzek.mydorm.idempotency;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Id> {
+
+    /**
+     * Claims a key for the current transaction; an expired claim is taken over. Returns 0 when
+     * the key is held by a live claim. A concurrent claim of the same key waits here until the
+     * holder's transaction ends, so it then sees either the finished result or no row at all.
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO idempotency_keys (user_id, operation, idempotency_key, request_hash, expires_at)
+       VALUES (:userId, :operation, :idempotencyKey, :requestHash, :expiresAt)
+       ON CONFLICT (user_id, operation, idempotency_key) DO UPDATE
+           SET request_hash = EXCLUDED.request_hash, result_id = NULL, expires_at = EXCLUDED.expires_at
+           WHERE idempotency_keys.expires_at <= :now
+       """, nativeQuery = true)
+    int claim(@Param("userId") Long userId,
+              @Param("operation") String operation,
+              @Param("idempotencyKey") String idempotencyKey,
+              @Param("requestHash") String requestHash,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+       UPDATE idempotency_keys
+       SET result_id = :resultId
+       WHERE user_id = :userId AND operation = :operation AND idempotency_key = :idempotencyKey
+       """, nativeQuery = true)
+    int complete(@Param("userId") Long userId,
+                 @Param("operation") String operation,
+                 @Param("idempotencyKey") String idempotencyKey,
+                 @Param("resultId") Long resultId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at <= :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
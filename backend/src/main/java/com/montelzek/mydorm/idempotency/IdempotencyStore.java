@@ -0,0 +1,116 @@
+package com.montelzek.mydorm.idempotency;
+
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import com.montelzek.mydorm.exception.BusinessException;
+import com.montelzek.mydorm.exception.ErrorCodes;
+import com.montelzek.mydorm.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which row a create mutation produced for a client-supplied idempotency key, so a
+ * retried request gets the original result instead of being executed again.
+ * <p>
+ * The {@code idempotency_keys} table is authoritative: a key is claimed inside the creating
+ * transaction and rolls back with it, so only successful results are remembered. Finished
+ * keys are mirrored in memory, which lets most retries be answered without a query. Keys
+ * expire after {@code idempotency.ttl-hours}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final ConcurrentMap<IdempotencyRecord.Id, Entry> completed = new ConcurrentHashMap<>();
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    private record Entry(String requestHash, Long resultId, LocalDateTime expiresAt) {}
+
+    /**
+     * Returns the id created by an earlier request with this key, or claims the key for the
+     * current transaction and returns empty. The caller must then create the result and pass
+     * its id to {@link #complete}.
+     */
+    public Optional<Long> claim(Long userId, String operation, String idempotencyKey, String requestHash) {
+        IdempotencyRecord.Id id = new IdempotencyRecord.Id(userId, operation, idempotencyKey);
+        LocalDateTime now = now();
+
+        Entry cached = completed.get(id);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return Optional.of(replay(cached, requestHash));
+        }
+
+        if (idempotencyRecordRepository.claim(userId, operation, idempotencyKey, requestHash, now.plusHours(ttlHours), now) > 0) {
+            return Optional.empty();
+        }
+
+        IdempotencyRecord existing = idempotencyRecordRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Idempotency key claim disappeared: " + idempotencyKey));
+        if (existing.getResultId() == null) {
+            throw new IllegalStateException("Idempotency key is held by an unfinished request: " + idempotencyKey);
+        }
+        Entry entry = new Entry(existing.getRequestHash(), existing.getResultId(), existing.getExpiresAt());
+        completed.put(id, entry);
+        return Optional.of(replay(entry, requestHash));
+    }
+
+    public void complete(Long userId, String operation, String idempotencyKey, String requestHash, Long resultId) {
+        idempotencyRecordRepository.complete(userId, operation, idempotencyKey, resultId);
+        Entry entry = new Entry(requestHash, resultId, now().plusHours(ttlHours));
+        TransactionCallbacks.afterCommit(() -> completed.put(new IdempotencyRecord.Id(userId, operation, idempotencyKey), entry));
+    }
+
+    /**
+     * Hashes the request fields, so a key reused for a different request is detected.
+     */
+    public static String requestHash(Object... fields) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object field : fields) {
+                digest.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void evictExpired() {
+        LocalDateTime now = now();
+        completed.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        int deleted = idempotencyRecordRepository.deleteExpired(now);
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private static Long replay(Entry entry, String requestHash) {
+        if (!entry.requestHash().equals(requestHash)) {
+            throw new BusinessException(ErrorCodes.IDEMPOTENCY_KEY_REUSED,
+                    "This idempotency key was already used for a different request", "idempotencyKey");
+        }
+        return entry.resultId();
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ApplicationConstants.DORMITORY_TIMEZONE);
+    }
+}
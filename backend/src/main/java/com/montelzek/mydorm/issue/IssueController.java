@@ -2,8 +2,6 @@ package com.montelzek.mydorm.issue;
 
 import com.montelzek.mydorm.issue.payload.*;
 import com.montelzek.mydorm.security.UserDetailsImpl;
-import com.montelzek.mydorm.user.User;
-import com.montelzek.mydorm.user.UserRepository;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -20,7 +18,6 @@ import java.util.List;
 public class IssueController {
 
     private final IssueService issueService;
-    private final UserRepository userRepository;
 
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
@@ -35,9 +32,6 @@ public class IssueController {
     public IssuePayload createIssue(
             @Argument @Valid CreateIssueInput input,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        
-        User currentUser = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
 
         EIssuePriority priority;
         try {
@@ -50,7 +44,8 @@ public class IssueController {
                 input.title(),
                 input.description(),
                 priority,
-                currentUser
+                userDetails.getId(),
+                input.idempotencyKey()
         );
 
         return issueService.toPayload(createdIssue);
@@ -1,7 +1,9 @@
 package com.montelzek.mydorm.issue;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +15,12 @@ import java.util.List;
 public interface IssueRepository extends JpaRepository<Issue, Long> {
     
     List<Issue> findByUserId(Long userId);
+
+    long countByUserId(Long userId);
+
+    // Newest first with the room and building the payload reads
+    @EntityGraph(attributePaths = {"room", "building"})
+    List<Issue> findByUserIdOrderByCreatedAtDesc(Long userId, Limit limit);
     
     List<Issue> findByUserIdAndStatus(Long userId, EIssueStatus status);
     
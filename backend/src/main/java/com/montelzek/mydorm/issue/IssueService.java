@@ -1,5 +1,9 @@
 package com.montelzek.mydorm.issue;
 
+import com.montelzek.mydorm.dashboard.DashboardCounter;
+import com.montelzek.mydorm.dashboard.DashboardCountersChanged;
+import com.montelzek.mydorm.dashboard.ResidentDashboardChanged;
+import com.montelzek.mydorm.idempotency.IdempotencyStore;
 import com.montelzek.mydorm.issue.payload.*;
 import com.montelzek.mydorm.user.ERole;
 import com.montelzek.mydorm.user.User;
@@ -7,6 +11,7 @@ import com.montelzek.mydorm.user.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +21,7 @@ import org.springframework.stereotype.Service;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,12 +31,29 @@ public class IssueService {
 
     private final IssueRepository issueRepository;
     private final UserRepository userRepository;
+    private final IdempotencyStore idempotencyStore;
+    private final ApplicationEventPublisher eventPublisher;
 
+    private static final String CREATE_ISSUE_OPERATION = "createIssue";
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /**
+     * Reports a new issue. A retry carrying the idempotency key of an earlier successful
+     * request returns that request's issue instead of creating a duplicate.
+     */
     @Transactional
-    public Issue createIssue(String title, String description, EIssuePriority priority, User user) {
-        User currentUser = userRepository.findById(user.getId())
+    public Issue createIssue(String title, String description, EIssuePriority priority, Long userId, String idempotencyKey) {
+        String requestHash = null;
+        if (idempotencyKey != null) {
+            requestHash = IdempotencyStore.requestHash(title, description, priority);
+            Optional<Long> earlier = idempotencyStore.claim(userId, CREATE_ISSUE_OPERATION, idempotencyKey, requestHash);
+            if (earlier.isPresent()) {
+                return issueRepository.findById(earlier.get())
+                        .orElseThrow(() -> new IllegalStateException("Issue created for idempotency key no longer exists"));
+            }
+        }
+
+        User currentUser = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
 
         Issue issue = new Issue();
@@ -46,7 +69,15 @@ public class IssueService {
             issue.setBuilding(currentUser.getRoom().getBuilding());
         }
 
-        return issueRepository.save(issue);
+        Issue savedIssue = issueRepository.save(issue);
+        eventPublisher.publishEvent(DashboardCountersChanged.of(DashboardCounter.ISSUES, 1)
+                .and(DashboardCounter.forStatus(EIssueStatus.REPORTED), 1)
+                .and(DashboardCounter.forPriority(priority), 1));
+        eventPublisher.publishEvent(ResidentDashboardChanged.forUser(userId));
+        if (idempotencyKey != null) {
+            idempotencyStore.complete(userId, CREATE_ISSUE_OPERATION, idempotencyKey, requestHash, savedIssue.getId());
+        }
+        return savedIssue;
     }
 
     public List<IssuePayload> getUserIssues(Long userId, String statusFilter) {
@@ -84,6 +115,8 @@ public class IssueService {
 
         issue.setStatus(EIssueStatus.CANCELLED);
         issueRepository.save(issue);
+        eventPublisher.publishEvent(statusChanged(EIssueStatus.REPORTED, EIssueStatus.CANCELLED));
+        eventPublisher.publishEvent(ResidentDashboardChanged.forUser(userId));
 
         return true;
     }
@@ -178,8 +211,11 @@ public class IssueService {
             throw new IllegalArgumentException("Invalid status: " + newStatus);
         }
         
+        EIssueStatus previousStatus = issue.getStatus();
         issue.setStatus(status);
         Issue updatedIssue = issueRepository.save(issue);
+        eventPublisher.publishEvent(statusChanged(previousStatus, status));
+        eventPublisher.publishEvent(ResidentDashboardChanged.forUser(issue.getUser().getId()));
         
         return toAdminPayload(updatedIssue);
     }
@@ -359,8 +395,11 @@ public class IssueService {
             throw new IllegalArgumentException("Technician can only set status to REPORTED, IN_PROGRESS, or RESOLVED");
         }
         
+        EIssueStatus previousStatus = issue.getStatus();
         issue.setStatus(status);
         Issue updatedIssue = issueRepository.save(issue);
+        eventPublisher.publishEvent(statusChanged(previousStatus, status));
+        eventPublisher.publishEvent(ResidentDashboardChanged.forUser(issue.getUser().getId()));
         
         return toTechnicianPayload(updatedIssue);
     }
@@ -413,5 +452,12 @@ public class IssueService {
                 ))
                 .collect(Collectors.toList());
     }
-}
 
+    private static DashboardCountersChanged statusChanged(EIssueStatus from, EIssueStatus to) {
+        if (from == to) {
+            return DashboardCountersChanged.none();
+        }
+        return DashboardCountersChanged.of(DashboardCounter.forStatus(from), -1)
+                .and(DashboardCounter.forStatus(to), 1);
+    }
+}
@@ -13,6 +13,9 @@ public record CreateIssueInput(
         String description,
         
         @NotBlank
-        String priority
+        String priority,
+
+        @Size(min = 1, max = 100)
+        String idempotencyKey
 ) {}
 
@@ -0,0 +1,12 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.reservation_resource.EResourceType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reservation cancelled by a bulk update, as returned by the update itself.
+ */
+public record CancelledReservation(Long id, Long userId, Long resourceId, EResourceType resourceType,
+                                   LocalDateTime startTime, LocalDateTime endTime) {
+}
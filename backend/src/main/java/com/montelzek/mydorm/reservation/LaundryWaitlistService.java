@@ -0,0 +1,228 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import com.montelzek.mydorm.exception.BusinessException;
+import com.montelzek.mydorm.exception.ErrorCodes;
+import com.montelzek.mydorm.reservation.payload.GraphQLPayloads;
+import com.montelzek.mydorm.reservation_resource.EResourceType;
+import com.montelzek.mydorm.reservation_resource.ReservationResource;
+import com.montelzek.mydorm.reservation_resource.ReservationResourceRepository;
+import com.montelzek.mydorm.user.UserRepository;
+import com.montelzek.mydorm.util.TransactionCallbacks;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Waitlist for taken laundry slots. Each (resource, slot) has a FIFO queue in memory that
+ * mirrors the {@code reservation_waitlist} table; when a laundry reservation is cancelled
+ * the slot is handed to the first waiter that can take it, inside the cancelling transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LaundryWaitlistService {
+
+    private final ReservationWaitlistRepository waitlistRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationResourceRepository reservationResourceRepository;
+    private final UserRepository userRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final ReservationQuotaLedger quotaLedger;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Queues are ordered by entry id, which follows join order
+    private final ConcurrentMap<SlotKey, ConcurrentSkipListMap<Long, Waiter>> queues = new ConcurrentHashMap<>();
+
+    private record SlotKey(Long resourceId, LocalDateTime startTime) {}
+
+    private record Waiter(Long entryId, Long userId, LocalDateTime endTime) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadQueues() {
+        List<WaitlistSlotEntry> entries = waitlistRepository.findUpcomingEntries(now());
+        for (WaitlistSlotEntry entry : entries) {
+            enqueue(new SlotKey(entry.getResourceId(), entry.getStartTime()),
+                    new Waiter(entry.getId(), entry.getUserId(), entry.getEndTime()));
+        }
+        log.info("Loaded {} laundry waitlist entries", entries.size());
+    }
+
+    @Transactional
+    public GraphQLPayloads.WaitlistEntryPayload joinWaitlist(Long resourceId, LocalDateTime startTime, LocalDateTime endTime, Long userId) {
+        ReservationResource resource = reservationResourceRepository.findById(resourceId)
+                .orElseThrow(() -> new IllegalArgumentException("Resource with given ID not found: " + resourceId));
+        if (resource.getResourceType() != EResourceType.LAUNDRY) {
+            throw new IllegalArgumentException("Waitlist is only available for laundry resources.");
+        }
+
+        boolean isSlotValid = ApplicationConstants.LAUNDRY_SLOTS.stream().anyMatch(slot ->
+                startTime.toLocalTime().equals(slot[0]) && endTime.toLocalTime().equals(slot[1])
+                        && startTime.toLocalDate().isEqual(endTime.toLocalDate())
+        );
+        if (!isSlotValid) {
+            throw new IllegalArgumentException("Invalid time slot for laundry reservation.");
+        }
+        if (startTime.isBefore(now())) {
+            throw new BusinessException(ErrorCodes.PAST_RESERVATION, ApplicationConstants.PAST_RESERVATION_MESSAGE, "startTime");
+        }
+
+        LocalDate date = startTime.toLocalDate();
+        int occupancy = slotOccupancyIndex.getOccupancy(resourceId, date);
+        if (!slotOccupancyIndex.isSlotTaken(occupancy, date, startTime.toLocalTime(), endTime.toLocalTime())) {
+            throw new BusinessException(ErrorCodes.SLOT_AVAILABLE, "This slot is free and can be booked directly.", "timeSlot");
+        }
+        if (waitlistRepository.existsByUserIdAndReservationResourceIdAndStartTime(userId, resourceId, startTime)) {
+            throw new BusinessException(ErrorCodes.ALREADY_ON_WAITLIST, "You are already on the waitlist for this slot.", "timeSlot");
+        }
+        // Includes the user's own booking of this slot: waiting for it would hand it back on cancellation
+        if (!reservationRepository.findConfirmedUserIntervals(userId, startTime, endTime).isEmpty()) {
+            throw new BusinessException(ErrorCodes.USER_RESERVATION_CONFLICT, "You already have a reservation in this time slot.", "timeSlot");
+        }
+
+        ReservationWaitlistEntry entry = new ReservationWaitlistEntry();
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setReservationResource(resource);
+        entry.setUser(userRepository.getReferenceById(userId));
+        ReservationWaitlistEntry saved = waitlistRepository.save(entry);
+
+        SlotKey key = new SlotKey(resourceId, startTime);
+        Waiter waiter = new Waiter(saved.getId(), userId, endTime);
+        TransactionCallbacks.afterCommit(() -> {
+            evictPastSlots();
+            enqueue(key, waiter);
+        });
+
+        return toPayload(saved, queueSize(key) + 1);
+    }
+
+    @Transactional
+    public boolean leaveWaitlist(Long entryId, Long userId) {
+        ReservationWaitlistEntry entry = waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new IllegalArgumentException("Waitlist entry with given ID not found: " + entryId));
+        if (!entry.getUser().getId().equals(userId)) {
+            throw new IllegalStateException("You can only leave your own waitlist entries");
+        }
+
+        waitlistRepository.delete(entry);
+        SlotKey key = new SlotKey(entry.getReservationResource().getId(), entry.getStartTime());
+        TransactionCallbacks.afterCommit(() -> dequeue(key, entryId));
+        return true;
+    }
+
+    public List<GraphQLPayloads.WaitlistEntryPayload> getUserWaitlist(Long userId) {
+        return waitlistRepository.findUpcomingByUserId(userId, now()).stream()
+                .map(entry -> toPayload(entry, position(entry)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gives a just-cancelled laundry slot to the first waiter who can take it. Waiters over
+     * their weekly limit or with an overlapping reservation keep their place and are skipped.
+     * Must run in the cancelling transaction, after the cancellation itself.
+     */
+    public void promoteNextWaiter(Reservation cancelled) {
+        ReservationResource resource = cancelled.getReservationResource();
+        if (resource.getResourceType() != EResourceType.LAUNDRY) {
+            return;
+        }
+
+        SlotKey key = new SlotKey(resource.getId(), cancelled.getStartTime());
+        ConcurrentSkipListMap<Long, Waiter> queue = queues.get(key);
+        if (queue == null || queue.isEmpty()) {
+            return;
+        }
+
+        // The status change has to reach the database before the overlap constraint sees the insert
+        reservationRepository.flush();
+
+        for (Waiter waiter : new ArrayList<>(queue.values())) {
+            // Never give the slot back to the resident who has just cancelled it
+            if (waiter.userId().equals(cancelled.getUser().getId())) {
+                continue;
+            }
+            if (waitlistRepository.lockEntry(waiter.entryId()).isEmpty()) {
+                TransactionCallbacks.afterCommit(() -> dequeue(key, waiter.entryId()));
+                continue;
+            }
+
+            ReservationQuotaLedger.Key quotaKey = ReservationQuotaLedger.Key.of(
+                    waiter.userId(), resource.getId(), EResourceType.LAUNDRY, key.startTime());
+            if (!quotaLedger.tryAcquire(quotaKey, ApplicationConstants.LAUNDRY_WEEKLY_LIMIT)) {
+                continue;
+            }
+            if (reservationRepository.insertConfirmed(waiter.userId(), resource.getId(), key.startTime(), waiter.endTime()) == 0) {
+                quotaLedger.release(quotaKey);
+                continue;
+            }
+
+            waitlistRepository.deleteById(waiter.entryId());
+            reservationRepository.findConfirmedByStartTimes(waiter.userId(), resource.getId(), List.of(key.startTime()))
+                    .forEach(reservation -> eventPublisher.publishEvent(SlotAvailabilityEvent.taken(reservation)));
+            TransactionCallbacks.afterCommit(() -> dequeue(key, waiter.entryId()));
+
+            log.info("Promoted waitlist entry {} to a reservation for resource {} at {}",
+                    waiter.entryId(), resource.getId(), key.startTime());
+            return;
+        }
+    }
+
+    private void enqueue(SlotKey key, Waiter waiter) {
+        queues.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>()).put(waiter.entryId(), waiter);
+    }
+
+    private void dequeue(SlotKey key, Long entryId) {
+        queues.computeIfPresent(key, (k, queue) -> {
+            queue.remove(entryId);
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    private int queueSize(SlotKey key) {
+        ConcurrentSkipListMap<Long, Waiter> queue = queues.get(key);
+        return queue != null ? queue.size() : 0;
+    }
+
+    private int position(ReservationWaitlistEntry entry) {
+        ConcurrentSkipListMap<Long, Waiter> queue = queues.get(new SlotKey(entry.getReservationResource().getId(), entry.getStartTime()));
+        return queue != null ? queue.headMap(entry.getId()).size() + 1 : 1;
+    }
+
+    private void evictPastSlots() {
+        LocalDateTime now = now();
+        queues.keySet().removeIf(key -> key.startTime().isBefore(now));
+    }
+
+    private GraphQLPayloads.WaitlistEntryPayload toPayload(ReservationWaitlistEntry entry, int position) {
+        ReservationResource resource = entry.getReservationResource();
+        ZoneId dormitoryZone = ApplicationConstants.DORMITORY_TIMEZONE;
+
+        return new GraphQLPayloads.WaitlistEntryPayload(
+                entry.getId(),
+                new GraphQLPayloads.ReservationResourcePayload(resource.getId(), resource.getName(), resource.getResourceType().name()),
+                entry.getStartTime().atZone(dormitoryZone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                entry.getEndTime().atZone(dormitoryZone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                position
+        );
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ApplicationConstants.DORMITORY_TIMEZONE);
+    }
+}
@@ -0,0 +1,16 @@
+package com.montelzek.mydorm.reservation;
+
+/**
+ * Everything {@link ReservationService#createReservation} needs to decide whether a booking
+ * may be inserted, fetched in one row by {@link ReservationRepository#checkAdmission}.
+ */
+public interface ReservationAdmission {
+
+    String getResourceType();
+
+    Boolean getUserExists();
+
+    Boolean getResourceConflict();
+
+    Boolean getUserConflict();
+}
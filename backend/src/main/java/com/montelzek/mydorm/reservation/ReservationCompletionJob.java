@@ -0,0 +1,43 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves reservations that have ended from CONFIRMED to COMPLETED, keeping the CONFIRMED set
+ * (and the partial indexes over it) limited to live bookings. Works in bounded batches, each
+ * in its own short transaction, so it never holds many row locks at once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationCompletionJob {
+
+    private final ReservationRepository reservationRepository;
+
+    @Value("${reservations.completion.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${reservations.completion.interval-ms:300000}",
+            initialDelayString = "${reservations.completion.initial-delay-ms:60000}")
+    public void completeEndedReservations() {
+        LocalDateTime now = LocalDateTime.now(ApplicationConstants.DORMITORY_TIMEZONE);
+
+        int total = 0;
+        int updated;
+        do {
+            updated = reservationRepository.completeEndedBatch(now, batchSize);
+            total += updated;
+        } while (updated == batchSize);
+
+        if (total > 0) {
+            log.info("Marked {} ended reservations as COMPLETED", total);
+        }
+    }
+}
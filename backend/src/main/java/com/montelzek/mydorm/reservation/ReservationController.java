@@ -1,25 +1,39 @@
 package com.montelzek.mydorm.reservation;
 
+import com.montelzek.mydorm.constants.ApplicationConstants;
 import com.montelzek.mydorm.reservation.payload.GraphQLPayloads;
+import com.montelzek.mydorm.reservation.payload.ReservationCursorPage;
 import com.montelzek.mydorm.reservation.payload.ReservationPage;
 import com.montelzek.mydorm.security.UserDetailsImpl;
-import com.montelzek.mydorm.user.User;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller
 @AllArgsConstructor
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final LaundryWaitlistService laundryWaitlistService;
+    private final SlotAvailabilityPublisher slotAvailabilityPublisher;
 
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
@@ -27,22 +41,47 @@ public class ReservationController {
             @Argument @Valid GraphQLPayloads.CreateReservationInput input,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
 
-        User currentUser = reservationService.getUserById(userDetails.getId());
         Reservation createdReservation = reservationService.createReservationWithParsedTimes(
                 input.startTime(),
                 input.endTime(),
                 input.resourceId(),
-                currentUser
+                userDetails.getId(),
+                input.idempotencyKey()
         );
         return reservationService.toPayload(createdReservation);
     }
 
+    @MutationMapping
+    @PreAuthorize("isAuthenticated()")
+    public GraphQLPayloads.RecurringReservationResult createRecurringReservation(
+            @Argument @Valid GraphQLPayloads.CreateRecurringReservationInput input,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return reservationService.createRecurringReservation(input, userDetails.getId());
+    }
+
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
     public List<GraphQLPayloads.ReservationPayload> myReservations(@AuthenticationPrincipal UserDetailsImpl userDetails) {
         return reservationService.getUserReservationsAsPayloads(userDetails.getId());
     }
 
+    // Nested fields of ReservationPayload, resolved once for every reservation in the response
+    @BatchMapping(typeName = "ReservationPayload", field = "resource")
+    public Map<GraphQLPayloads.ReservationPayload, GraphQLPayloads.ReservationResourcePayload> reservationResource(
+            List<GraphQLPayloads.ReservationPayload> reservations) {
+        Map<Long, GraphQLPayloads.ReservationResourcePayload> resources = reservationService.getResourcePayloads(
+                collectIds(reservations, GraphQLPayloads.ReservationPayload::resourceId));
+        return mapBy(reservations, GraphQLPayloads.ReservationPayload::resourceId, resources);
+    }
+
+    @BatchMapping(typeName = "ReservationPayload", field = "user")
+    public Map<GraphQLPayloads.ReservationPayload, GraphQLPayloads.UserPayload> reservationUser(
+            List<GraphQLPayloads.ReservationPayload> reservations) {
+        Map<Long, GraphQLPayloads.UserPayload> users = reservationService.getUserPayloads(
+                collectIds(reservations, GraphQLPayloads.ReservationPayload::userId));
+        return mapBy(reservations, GraphQLPayloads.ReservationPayload::userId, users);
+    }
+
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
     public List<GraphQLPayloads.TimeSlot> availableLaundrySlots(@Argument Long resourceId, @Argument String date) {
@@ -55,6 +94,22 @@ public class ReservationController {
         return reservationService.getAvailableStandardSlotsAsPayloads(resourceId, date);
     }
 
+    @QueryMapping
+    @PreAuthorize("isAuthenticated()")
+    public List<GraphQLPayloads.ResourceDaySlots> availableSlotsInRange(
+            @Argument List<Long> resourceIds,
+            @Argument Long buildingId,
+            @Argument String startDate,
+            @Argument String endDate) {
+        return reservationService.getAvailableSlotsInRange(resourceIds, buildingId, startDate, endDate);
+    }
+
+    @SubscriptionMapping
+    @PreAuthorize("isAuthenticated()")
+    public Flux<GraphQLPayloads.SlotAvailabilityDelta> slotAvailabilityChanged(@Argument Long resourceId, @Argument String date) {
+        return slotAvailabilityPublisher.deltas(resourceId, LocalDate.parse(date));
+    }
+
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
     public Boolean cancelReservation(
@@ -63,6 +118,31 @@ public class ReservationController {
         return reservationService.cancelReservation(reservationId, userDetails.getId());
     }
 
+    @MutationMapping
+    @PreAuthorize("isAuthenticated()")
+    public GraphQLPayloads.WaitlistEntryPayload joinLaundryWaitlist(
+            @Argument @Valid GraphQLPayloads.JoinWaitlistInput input,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        ZoneId dormitoryZone = ApplicationConstants.DORMITORY_TIMEZONE;
+        LocalDateTime startTime = reservationService.parseFlexibleDateTime(input.startTime()).withZoneSameInstant(dormitoryZone).toLocalDateTime();
+        LocalDateTime endTime = reservationService.parseFlexibleDateTime(input.endTime()).withZoneSameInstant(dormitoryZone).toLocalDateTime();
+        return laundryWaitlistService.joinWaitlist(input.resourceId(), startTime, endTime, userDetails.getId());
+    }
+
+    @MutationMapping
+    @PreAuthorize("isAuthenticated()")
+    public Boolean leaveLaundryWaitlist(
+            @Argument Long entryId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return laundryWaitlistService.leaveWaitlist(entryId, userDetails.getId());
+    }
+
+    @QueryMapping
+    @PreAuthorize("isAuthenticated()")
+    public List<GraphQLPayloads.WaitlistEntryPayload> myWaitlistEntries(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return laundryWaitlistService.getUserWaitlist(userDetails.getId());
+    }
+
     // Admin endpoints
     @QueryMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -77,10 +157,38 @@ public class ReservationController {
         return reservationService.getAdminReservationsPage(page, size, sortDirection, resourceId, buildingId, date, search);
     }
 
+    @QueryMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ReservationCursorPage adminReservationsCursor(
+            @Argument Integer first,
+            @Argument String after,
+            @Argument String sortDirection,
+            @Argument Long resourceId,
+            @Argument Long buildingId,
+            @Argument String date,
+            @Argument String search,
+            @Argument Boolean includeTotal) {
+        return reservationService.getAdminReservationsCursor(first, after, sortDirection, resourceId, buildingId, date, search, includeTotal);
+    }
+
     @MutationMapping
     @PreAuthorize("hasRole('ADMIN')")
     public Boolean cancelReservationByAdmin(@Argument Long reservationId) {
         return reservationService.cancelReservationByAdmin(reservationId);
     }
 
+    private static Set<Long> collectIds(List<GraphQLPayloads.ReservationPayload> reservations,
+                                        Function<GraphQLPayloads.ReservationPayload, Long> idOf) {
+        return reservations.stream().map(idOf).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<GraphQLPayloads.ReservationPayload, T> mapBy(List<GraphQLPayloads.ReservationPayload> reservations,
+                                                                        Function<GraphQLPayloads.ReservationPayload, Long> idOf,
+                                                                        Map<Long, T> valuesById) {
+        Map<GraphQLPayloads.ReservationPayload, T> result = new LinkedHashMap<>();
+        for (GraphQLPayloads.ReservationPayload reservation : reservations) {
+            result.put(reservation, valuesById.get(idOf.apply(reservation)));
+        }
+        return result;
+    }
 }
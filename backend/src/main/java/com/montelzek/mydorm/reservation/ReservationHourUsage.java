@@ -0,0 +1,18 @@
+package com.montelzek.mydorm.reservation;
+
+import java.time.LocalDate;
+
+/**
+ * Number of reservations covering one hour of one week of a resource. Hours of the week are
+ * numbered from 0 (Monday 00:00) to 167 (Sunday 23:00).
+ */
+public interface ReservationHourUsage {
+
+    Long getResourceId();
+
+    LocalDate getWeekStart();
+
+    Integer getHourOfWeek();
+
+    Long getReservedCount();
+}
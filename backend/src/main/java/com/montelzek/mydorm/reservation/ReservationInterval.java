@@ -0,0 +1,16 @@
+package com.montelzek.mydorm.reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a reservation's time span, used where only the occupied
+ * interval matters and loading the full entity graph would be wasted work.
+ */
+public interface ReservationInterval {
+
+    Long getResourceId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
@@ -0,0 +1,45 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Creates the monthly partitions of the reservations table ahead of time, so new bookings
+ * (recurring ones included) land in their own partition rather than the default one. Runs on
+ * startup and daily; creating a partition that already exists is a no-op.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationPartitionJob {
+
+    private final ReservationRepository reservationRepository;
+
+    @Value("${reservations.partitions.months-ahead:7}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${reservations.partitions.cron:0 30 3 * * *}", zone = "Europe/Warsaw")
+    public void createUpcomingPartitions() {
+        LocalDate currentMonth = LocalDate.now(ApplicationConstants.DORMITORY_TIMEZONE).withDayOfMonth(1);
+
+        for (int offset = 0; offset <= monthsAhead; offset++) {
+            LocalDate month = currentMonth.plusMonths(offset);
+            if (reservationRepository.createMonthlyPartition(month)) {
+                log.info("Created reservations partition for {}", month);
+            }
+        }
+    }
+}
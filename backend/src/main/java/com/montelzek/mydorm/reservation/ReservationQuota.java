@@ -0,0 +1,44 @@
+package com.montelzek.mydorm.reservation;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "reservation_quota")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationQuota {
+
+    @EmbeddedId
+    private Id id;
+
+    @Column(nullable = false)
+    private int used;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Id implements Serializable {
+
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Column(name = "week_start", nullable = false)
+        private LocalDate weekStart;
+
+        @Column(nullable = false, length = 50)
+        private String scope;
+    }
+}
@@ -0,0 +1,174 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import com.montelzek.mydorm.reservation_resource.EResourceType;
+import com.montelzek.mydorm.util.TransactionCallbacks;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tracks how many reservations each user holds per week and limit scope. Laundry shares one
+ * scope across all machines; every other resource has its own scope.
+ * <p>
+ * The {@code reservation_quota} table is authoritative: quota is taken with a conditional
+ * upsert inside the booking transaction, so concurrent bookings cannot exceed the limit.
+ * The in-memory counters mirror committed rows and let exhausted quotas be rejected without
+ * touching the database. Both are rebuilt from reservations on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationQuotaLedger {
+
+    private static final String LAUNDRY_SCOPE = "LAUNDRY";
+    private static final String RESOURCE_SCOPE_PREFIX = "RESOURCE:";
+
+    private final ReservationQuotaRepository quotaRepository;
+
+    private final ConcurrentMap<Key, Integer> used = new ConcurrentHashMap<>();
+
+    public record Key(Long userId, LocalDate weekStart, String scope) {
+
+        public static Key of(Long userId, Long resourceId, EResourceType resourceType, LocalDateTime startTime) {
+            String scope = resourceType == EResourceType.LAUNDRY ? LAUNDRY_SCOPE : RESOURCE_SCOPE_PREFIX + resourceId;
+            return new Key(userId, weekOf(startTime.toLocalDate()), scope);
+        }
+
+        public static Key of(Reservation reservation) {
+            return of(reservation.getUser().getId(),
+                    reservation.getReservationResource().getId(),
+                    reservation.getReservationResource().getResourceType(),
+                    reservation.getStartTime());
+        }
+    }
+
+    public static int limitFor(EResourceType resourceType) {
+        return resourceType == EResourceType.LAUNDRY
+                ? ApplicationConstants.LAUNDRY_WEEKLY_LIMIT
+                : ApplicationConstants.RESOURCE_WEEKLY_LIMIT;
+    }
+
+    /**
+     * Tells from memory whether the quota may still have room. A {@code true} answer is only
+     * a hint; {@link #tryAcquire} makes the binding decision.
+     */
+    public boolean hasCapacity(Key key, int limit) {
+        return used.getOrDefault(key, 0) < limit;
+    }
+
+    /**
+     * Takes one unit of quota in the current transaction. The in-memory counter follows once
+     * the transaction commits; a rollback leaves both untouched.
+     */
+    public boolean tryAcquire(Key key, int limit) {
+        if (quotaRepository.tryAcquire(key.userId(), key.weekStart(), key.scope(), limit) == 0) {
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            evictPastWeeks();
+            used.merge(key, 1, Integer::sum);
+        });
+        return true;
+    }
+
+    /**
+     * Batch variant of {@link #tryAcquire}; keys may repeat when several bookings fall into
+     * the same week.
+     */
+    public boolean[] tryAcquireAll(List<Key> keys, int limit) {
+        boolean[] acquired = quotaRepository.tryAcquireAll(keys, limit);
+        List<Key> taken = new ArrayList<>();
+        for (int i = 0; i < acquired.length; i++) {
+            if (acquired[i]) {
+                taken.add(keys.get(i));
+            }
+        }
+        if (!taken.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> {
+                evictPastWeeks();
+                taken.forEach(key -> used.merge(key, 1, Integer::sum));
+            });
+        }
+        return acquired;
+    }
+
+    public void release(Key key) {
+        if (quotaRepository.release(key.userId(), key.weekStart(), key.scope()) == 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> decrement(key));
+    }
+
+    /**
+     * Batch variant of {@link #release}; keys may repeat.
+     */
+    public void releaseAll(List<Key> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        boolean[] released = quotaRepository.releaseAll(keys);
+        List<Key> freed = new ArrayList<>();
+        for (int i = 0; i < released.length; i++) {
+            if (released[i]) {
+                freed.add(keys.get(i));
+            }
+        }
+        if (!freed.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> freed.forEach(this::decrement));
+        }
+    }
+
+    /**
+     * Recomputes usage for the current and future weeks from reservations. The table lock waits
+     * for in-flight bookings to finish and holds new ones back until the rebuild is done.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        LocalDate currentWeek = weekOf(LocalDate.now(ApplicationConstants.DORMITORY_TIMEZONE));
+
+        quotaRepository.lockForRebuild();
+        quotaRepository.deleteAllRows();
+        int rows = quotaRepository.rebuildFromWeek(currentWeek);
+
+        List<ReservationQuota> quotas = quotaRepository.findFromWeek(currentWeek);
+        Map<Key, Integer> snapshot = new HashMap<>();
+        for (ReservationQuota quota : quotas) {
+            ReservationQuota.Id id = quota.getId();
+            snapshot.put(new Key(id.getUserId(), id.getWeekStart(), id.getScope()), quota.getUsed());
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            used.clear();
+            used.putAll(snapshot);
+        });
+        log.info("Rebuilt reservation quota ledger with {} entries", rows);
+    }
+
+    private void decrement(Key key) {
+        used.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void evictPastWeeks() {
+        LocalDate currentWeek = weekOf(LocalDate.now(ApplicationConstants.DORMITORY_TIMEZONE));
+        used.keySet().removeIf(key -> key.weekStart().isBefore(currentWeek));
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY);
+    }
+}
@@ -0,0 +1,67 @@
+package com.montelzek.mydorm.reservation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ReservationQuotaRepository extends JpaRepository<ReservationQuota, ReservationQuota.Id>, ReservationQuotaRepositoryCustom {
+
+    @Query("SELECT q FROM ReservationQuota q WHERE q.id.weekStart >= :weekStart")
+    List<ReservationQuota> findFromWeek(@Param("weekStart") LocalDate weekStart);
+
+    /**
+     * Takes one unit of the weekly quota if it is still below the limit. Returns 0 when the
+     * limit has already been reached; the row lock makes concurrent attempts queue up here.
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO reservation_quota (user_id, week_start, scope, used)
+       VALUES (:userId, :weekStart, :scope, 1)
+       ON CONFLICT (user_id, week_start, scope)
+       DO UPDATE SET used = reservation_quota.used + 1
+       WHERE reservation_quota.used < :limit
+       """, nativeQuery = true)
+    int tryAcquire(@Param("userId") Long userId,
+                   @Param("weekStart") LocalDate weekStart,
+                   @Param("scope") String scope,
+                   @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+       UPDATE reservation_quota
+       SET used = used - 1
+       WHERE user_id = :userId AND week_start = :weekStart AND scope = :scope AND used > 0
+       """, nativeQuery = true)
+    int release(@Param("userId") Long userId,
+                @Param("weekStart") LocalDate weekStart,
+                @Param("scope") String scope);
+
+    @Modifying
+    @Query(value = "LOCK TABLE reservation_quota IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM reservation_quota", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO reservation_quota (user_id, week_start, scope, used)
+       SELECT r.user_id,
+              CAST(date_trunc('week', r.start_time) AS DATE),
+              CASE WHEN rr.resource_type = 'LAUNDRY' THEN 'LAUNDRY' ELSE 'RESOURCE:' || r.resource_id END,
+              COUNT(*)
+       FROM reservations r
+       JOIN reservation_resources rr ON rr.id = r.resource_id
+       WHERE r.status IN ('CONFIRMED', 'COMPLETED')
+         AND r.start_time >= :weekStart
+       GROUP BY 1, 2, 3
+       """, nativeQuery = true)
+    int rebuildFromWeek(@Param("weekStart") LocalDate weekStart);
+}
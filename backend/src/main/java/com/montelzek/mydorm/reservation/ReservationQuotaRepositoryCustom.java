@@ -0,0 +1,18 @@
+package com.montelzek.mydorm.reservation;
+
+import java.util.List;
+
+public interface ReservationQuotaRepositoryCustom {
+
+    /**
+     * Runs {@link ReservationQuotaRepository#tryAcquire} for every key as one JDBC batch.
+     * Keys may repeat; each entry takes one unit and reports whether it succeeded.
+     */
+    boolean[] tryAcquireAll(List<ReservationQuotaLedger.Key> keys, int limit);
+
+    /**
+     * Runs {@link ReservationQuotaRepository#release} for every key as one JDBC batch and
+     * reports, per key, whether a unit was released.
+     */
+    boolean[] releaseAll(List<ReservationQuotaLedger.Key> keys);
+}
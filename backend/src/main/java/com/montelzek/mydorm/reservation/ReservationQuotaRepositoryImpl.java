@@ -0,0 +1,59 @@
+package com.montelzek.mydorm.reservation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class ReservationQuotaRepositoryImpl implements ReservationQuotaRepositoryCustom {
+
+    private static final String TRY_ACQUIRE = """
+            INSERT INTO reservation_quota (user_id, week_start, scope, used)
+            VALUES (?, ?, ?, 1)
+            ON CONFLICT (user_id, week_start, scope)
+            DO UPDATE SET used = reservation_quota.used + 1
+            WHERE reservation_quota.used < ?
+            """;
+
+    private static final String RELEASE = """
+            UPDATE reservation_quota
+            SET used = used - 1
+            WHERE user_id = ? AND week_start = ? AND scope = ? AND used > 0
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean[] tryAcquireAll(List<ReservationQuotaLedger.Key> keys, int limit) {
+        int[][] counts = jdbcTemplate.batchUpdate(TRY_ACQUIRE, keys, keys.size(), (ps, key) -> {
+            ps.setLong(1, key.userId());
+            ps.setObject(2, key.weekStart());
+            ps.setString(3, key.scope());
+            ps.setInt(4, limit);
+        });
+
+        return updated(counts, keys.size());
+    }
+
+    @Override
+    public boolean[] releaseAll(List<ReservationQuotaLedger.Key> keys) {
+        int[][] counts = jdbcTemplate.batchUpdate(RELEASE, keys, keys.size(), (ps, key) -> {
+            ps.setLong(1, key.userId());
+            ps.setObject(2, key.weekStart());
+            ps.setString(3, key.scope());
+        });
+        return updated(counts, keys.size());
+    }
+
+    private static boolean[] updated(int[][] counts, int size) {
+        boolean[] updated = new boolean[size];
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated[index++] = count > 0;
+            }
+        }
+        return updated;
+    }
+}
@@ -1,83 +1,249 @@
 package com.montelzek.mydorm.reservation;
 
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
 
     List<Reservation> findByUserId(Long userId);
 
+    long countByUserId(Long userId);
+
+    // Reservations never cross midnight, so the day of :startTime bounds start_time from below
+    // and lets the planner prune partitions on both sides
     @Query("""
-       SELECT r
+       SELECT r.reservationResource.id AS resourceId, r.startTime AS startTime, r.endTime AS endTime
        FROM Reservation r
        WHERE r.reservationResource.id = :resourceId
          AND r.startTime < :endTime
          AND r.endTime > :startTime
+         AND r.startTime >= CAST(CAST(:startTime AS LocalDate) AS LocalDateTime)
          AND r.status = 'CONFIRMED'
        """)
-    List<Reservation> findConflictingReservations(
+    List<ReservationInterval> findConfirmedIntervals(
             @Param("resourceId") Long resourceId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
 
     @Query("""
-       SELECT r
+       SELECT r.reservationResource.id AS resourceId, r.startTime AS startTime, r.endTime AS endTime
+       FROM Reservation r
+       WHERE r.reservationResource.id IN :resourceIds
+         AND r.startTime < :endTime
+         AND r.endTime > :startTime
+         AND r.startTime >= CAST(CAST(:startTime AS LocalDate) AS LocalDateTime)
+         AND r.status = 'CONFIRMED'
+       """)
+    List<ReservationInterval> findConfirmedIntervalsForResources(
+            @Param("resourceIds") Collection<Long> resourceIds,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    @Query("""
+       SELECT r.reservationResource.id AS resourceId, r.startTime AS startTime, r.endTime AS endTime
        FROM Reservation r
        WHERE r.user.id = :userId
          AND r.startTime < :endTime
          AND r.endTime > :startTime
+         AND r.startTime >= CAST(CAST(:startTime AS LocalDate) AS LocalDateTime)
          AND r.status = 'CONFIRMED'
        """)
-    List<Reservation> findUserConflictingReservations(
+    List<ReservationInterval> findConfirmedUserIntervals(
             @Param("userId") Long userId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
 
+    @Query("""
+       SELECT r FROM Reservation r
+       JOIN FETCH r.reservationResource
+       JOIN FETCH r.user
+       WHERE r.user.id = :userId
+         AND r.reservationResource.id = :resourceId
+         AND r.status = 'CONFIRMED'
+         AND r.startTime IN :startTimes
+       """)
+    List<Reservation> findConfirmedByStartTimes(
+            @Param("userId") Long userId,
+            @Param("resourceId") Long resourceId,
+            @Param("startTimes") Collection<LocalDateTime> startTimes
+    );
+
+    @Query(value = """
+       SELECT rr.resource_type AS "resourceType",
+              EXISTS (SELECT 1 FROM users u WHERE u.id = :userId) AS "userExists",
+              EXISTS (SELECT 1
+                      FROM reservations r
+                      WHERE r.resource_id = rr.id
+                        AND r.status = 'CONFIRMED'
+                        AND r.start_time < :endTime
+                        AND r.end_time > :startTime
+                        AND r.start_time >= date_trunc('day', CAST(:startTime AS timestamp))) AS "resourceConflict",
+              EXISTS (SELECT 1
+                      FROM reservations r
+                      WHERE r.user_id = :userId
+                        AND r.status = 'CONFIRMED'
+                        AND r.start_time < :endTime
+                        AND r.end_time > :startTime
+                        AND r.start_time >= date_trunc('day', CAST(:startTime AS timestamp))) AS "userConflict"
+       FROM reservation_resources rr
+       WHERE rr.id = :resourceId
+       """, nativeQuery = true)
+    Optional<ReservationAdmission> checkAdmission(
+            @Param("userId") Long userId,
+            @Param("resourceId") Long resourceId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    // Reservations that were held (not cancelled) expanded to the hours they cover, per week
+    @Query(value = """
+       SELECT r.resource_id AS "resourceId",
+              CAST(date_trunc('week', h.hour) AS DATE) AS "weekStart",
+              CAST((EXTRACT(ISODOW FROM h.hour) - 1) * 24 + EXTRACT(HOUR FROM h.hour) AS INTEGER) AS "hourOfWeek",
+              COUNT(*) AS "reservedCount"
+       FROM reservations r
+       CROSS JOIN LATERAL generate_series(date_trunc('hour', r.start_time),
+                                          r.end_time - INTERVAL '1 microsecond',
+                                          INTERVAL '1 hour') AS h(hour)
+       WHERE r.status IN ('CONFIRMED', 'COMPLETED')
+         AND r.start_time >= :from
+       GROUP BY 1, 2, 3
+       """, nativeQuery = true)
+    List<ReservationHourUsage> findHourlyUsageSince(@Param("from") LocalDateTime from);
+
+    /**
+     * Completes up to {@code batchSize} ended reservations. Rows locked by a concurrent
+     * cancellation are skipped and picked up by a later batch.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+       UPDATE reservations
+       SET status = 'COMPLETED', updated_at = NOW()
+       WHERE id IN (SELECT id
+                    FROM reservations
+                    WHERE status = 'CONFIRMED'
+                      AND end_time <= :now
+                    ORDER BY end_time
+                    LIMIT :batchSize
+                    FOR UPDATE SKIP LOCKED)
+       """, nativeQuery = true)
+    int completeEndedBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    /**
+     * Creates the monthly partition containing {@code monthStart} unless it exists; see V16.
+     */
+    @Transactional
+    @Query(value = "SELECT create_reservation_partition(CAST(:monthStart AS DATE))", nativeQuery = true)
+    boolean createMonthlyPartition(@Param("monthStart") LocalDate monthStart);
+
     @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.user.id = :userId AND r.status = 'CONFIRMED' AND r.endTime > :now")
     boolean hasActiveReservations(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 
-    // Admin queries for future confirmed reservations
+    // Admin queries for future confirmed reservations; the entity graph loads everything the admin payload reads
+    @EntityGraph(attributePaths = {"user.room.building", "reservationResource.building"})
     @Query("SELECT r FROM Reservation r WHERE r.status = 'CONFIRMED' AND r.startTime > :now")
     Page<Reservation> findFutureConfirmedReservations(@Param("now") LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT r FROM Reservation r LEFT JOIN r.user u LEFT JOIN u.room room WHERE r.status = 'CONFIRMED' AND r.startTime > :now AND " +
-            "(:resourceId IS NULL OR r.reservationResource.id = :resourceId) AND " +
-            "(:buildingId IS NULL OR r.reservationResource.building.id = :buildingId) AND " +
-            "(:date IS NULL OR CAST(r.startTime AS LocalDate) = :date) AND " +
-            "(:search IS NULL OR :search = '' OR " +
-            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(room.roomNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(r.reservationResource.name) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Reservation> findFutureConfirmedReservationsWithFilters(
+    /**
+     * Filters shared by the native admin reservation queries. The search pattern comes from
+     * SearchPatterns.contains; the matching users and resources are collected once through their
+     * trigram indexes into arrays, and reservations are then only compared against those ids.
+     */
+    String ADMIN_FILTERS = "(CAST(:resourceId AS BIGINT) IS NULL OR r.resource_id = :resourceId) AND " +
+            "(CAST(:buildingId AS BIGINT) IS NULL OR r.resource_id IN (SELECT br.id FROM reservation_resources br WHERE br.building_id = :buildingId)) AND " +
+            "(CAST(:date AS DATE) IS NULL OR CAST(r.start_time AS DATE) = :date) AND " +
+            "(CAST(:pattern AS TEXT) IS NULL OR " +
+            "r.user_id = ANY (ARRAY(SELECT su.id FROM users su WHERE LOWER(su.first_name) LIKE :pattern ESCAPE '!' OR LOWER(su.last_name) LIKE :pattern ESCAPE '!' " +
+            "UNION SELECT su.id FROM users su JOIN rooms sr ON sr.id = su.room_id WHERE LOWER(sr.room_number) LIKE :pattern ESCAPE '!')) OR " +
+            "r.resource_id = ANY (ARRAY(SELECT sres.id FROM reservation_resources sres WHERE LOWER(sres.name) LIKE :pattern ESCAPE '!')))";
+
+    String FUTURE_CONFIRMED_WITH_FILTERS = "FROM reservations r WHERE r.status = 'CONFIRMED' AND r.start_time > :now AND " + ADMIN_FILTERS;
+
+    // The filtered admin queries return ids in page order; findAllWithDetailsByIdIn loads the rows
+    @Query(value = "SELECT r.id " + FUTURE_CONFIRMED_WITH_FILTERS + " ORDER BY r.start_time ASC, r.id ASC", nativeQuery = true)
+    List<Long> findFutureConfirmedIdsAsc(
             @Param("resourceId") Long resourceId,
             @Param("buildingId") Long buildingId,
             @Param("date") LocalDate date,
-            @Param("search") String search,
+            @Param("pattern") String pattern,
             @Param("now") LocalDateTime now,
             Pageable pageable
     );
 
-    List<Reservation> findTop5ByOrderByCreatedAtDesc();
+    @Query(value = "SELECT r.id " + FUTURE_CONFIRMED_WITH_FILTERS + " ORDER BY r.start_time DESC, r.id DESC", nativeQuery = true)
+    List<Long> findFutureConfirmedIdsDesc(
+            @Param("resourceId") Long resourceId,
+            @Param("buildingId") Long buildingId,
+            @Param("date") LocalDate date,
+            @Param("pattern") String pattern,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
 
-    @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId AND r.startTime > :now AND r.status = 'CONFIRMED' ORDER BY r.startTime ASC")
-    List<Reservation> findByUserIdAndStartTimeAfter(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    // Keyset pages: rows strictly after the (startTime, id) cursor in the requested direction.
+    // The plain start_time bound lets the (start_time, id) index seek to the cursor; the OR alone is only a filter
+    @Query(value = "SELECT r.id " + FUTURE_CONFIRMED_WITH_FILTERS +
+            " AND r.start_time >= :cursorStart AND (r.start_time > :cursorStart OR (r.start_time = :cursorStart AND r.id > :cursorId))" +
+            " ORDER BY r.start_time ASC, r.id ASC", nativeQuery = true)
+    List<Long> findFutureConfirmedIdsAfterCursorAsc(
+            @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") Long cursorId,
+            @Param("resourceId") Long resourceId,
+            @Param("buildingId") Long buildingId,
+            @Param("date") LocalDate date,
+            @Param("pattern") String pattern,
+            @Param("now") LocalDateTime now,
+            Limit limit
+    );
 
-    // Weekly limit queries
-    @Query("SELECT COUNT(r) FROM Reservation r WHERE r.user.id = :userId AND r.reservationResource.resourceType = 'LAUNDRY' AND r.status IN ('CONFIRMED', 'COMPLETED') AND r.startTime >= :weekStart AND r.startTime < :weekEnd")
-    long countUserLaundryReservationsInWeek(@Param("userId") Long userId, @Param("weekStart") LocalDateTime weekStart, @Param("weekEnd") LocalDateTime weekEnd);
+    @Query(value = "SELECT r.id " + FUTURE_CONFIRMED_WITH_FILTERS +
+            " AND r.start_time <= :cursorStart AND (r.start_time < :cursorStart OR (r.start_time = :cursorStart AND r.id < :cursorId))" +
+            " ORDER BY r.start_time DESC, r.id DESC", nativeQuery = true)
+    List<Long> findFutureConfirmedIdsAfterCursorDesc(
+            @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") Long cursorId,
+            @Param("resourceId") Long resourceId,
+            @Param("buildingId") Long buildingId,
+            @Param("date") LocalDate date,
+            @Param("pattern") String pattern,
+            @Param("now") LocalDateTime now,
+            Limit limit
+    );
+
+    @Query(value = "SELECT COUNT(*) " + FUTURE_CONFIRMED_WITH_FILTERS, nativeQuery = true)
+    long countFutureConfirmedWithFilters(
+            @Param("resourceId") Long resourceId,
+            @Param("buildingId") Long buildingId,
+            @Param("date") LocalDate date,
+            @Param("pattern") String pattern,
+            @Param("now") LocalDateTime now
+    );
+
+    @EntityGraph(attributePaths = {"user.room.building", "reservationResource.building"})
+    @Query("SELECT r FROM Reservation r WHERE r.id IN :ids")
+    List<Reservation> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT COUNT(r) FROM Reservation r WHERE r.user.id = :userId AND r.reservationResource.id = :resourceId AND r.status IN ('CONFIRMED', 'COMPLETED') AND r.startTime >= :weekStart AND r.startTime < :weekEnd")
-    long countUserResourceReservationsInWeek(@Param("userId") Long userId, @Param("resourceId") Long resourceId, @Param("weekStart") LocalDateTime weekStart, @Param("weekEnd") LocalDateTime weekEnd);
+    List<Reservation> findTop5ByOrderByCreatedAtDesc();
+
+    @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId AND r.startTime > :now AND r.status = 'CONFIRMED' ORDER BY r.startTime ASC")
+    List<Reservation> findByUserIdAndStartTimeAfter(@Param("userId") Long userId, @Param("now") LocalDateTime now, Limit limit);
 }
@@ -0,0 +1,26 @@
+package com.montelzek.mydorm.reservation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReservationRepositoryCustom {
+
+    /**
+     * Inserts confirmed reservations for one user and resource in a single JDBC batch.
+     * Slots rejected by the overlap constraints are skipped instead of failing the batch.
+     */
+    void insertConfirmedBatch(Long userId, Long resourceId, List<LocalDateTime[]> slots);
+
+    /**
+     * Inserts one confirmed reservation unless it overlaps an existing one. Unlike a JPA save,
+     * an overlap returns 0 and leaves the surrounding transaction usable.
+     */
+    int insertConfirmed(Long userId, Long resourceId, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * Cancels, in one statement, every confirmed reservation of the resource that has not
+     * started by {@code now} and overlaps [from, to); a null {@code to} leaves the range open.
+     * Returns the cancelled rows.
+     */
+    List<CancelledReservation> cancelConfirmedOverlapping(Long resourceId, LocalDateTime from, LocalDateTime to, LocalDateTime now);
+}
@@ -0,0 +1,67 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.reservation_resource.EResourceType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    private static final String INSERT_CONFIRMED = """
+            INSERT INTO reservations (user_id, resource_id, start_time, end_time, status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, 'CONFIRMED', ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    // The overlap test matches the expression of the exclusion constraint indexes
+    private static final String CANCEL_CONFIRMED_OVERLAPPING = """
+            WITH cancelled AS (
+                UPDATE reservations
+                SET status = 'CANCELLED', updated_at = ?
+                WHERE resource_id = ?
+                  AND status = 'CONFIRMED'
+                  AND start_time > ?
+                  AND tsrange(start_time, end_time) && tsrange(CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))
+                RETURNING id, user_id, resource_id, start_time, end_time
+            )
+            SELECT c.id, c.user_id, c.resource_id, rr.resource_type, c.start_time, c.end_time
+            FROM cancelled c
+            JOIN reservation_resources rr ON rr.id = c.resource_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertConfirmedBatch(Long userId, Long resourceId, List<LocalDateTime[]> slots) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_CONFIRMED, slots, slots.size(), (ps, slot) -> {
+            ps.setLong(1, userId);
+            ps.setLong(2, resourceId);
+            ps.setObject(3, slot[0]);
+            ps.setObject(4, slot[1]);
+            ps.setObject(5, now);
+            ps.setObject(6, now);
+        });
+    }
+
+    @Override
+    public int insertConfirmed(Long userId, Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update(INSERT_CONFIRMED, userId, resourceId, startTime, endTime, now, now);
+    }
+
+    @Override
+    public List<CancelledReservation> cancelConfirmedOverlapping(Long resourceId, LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+        return jdbcTemplate.query(CANCEL_CONFIRMED_OVERLAPPING, (rs, rowNum) -> new CancelledReservation(
+                        rs.getLong("id"),
+                        rs.getLong("user_id"),
+                        rs.getLong("resource_id"),
+                        EResourceType.valueOf(rs.getString("resource_type")),
+                        rs.getObject("start_time", LocalDateTime.class),
+                        rs.getObject("end_time", LocalDateTime.class)),
+                now, resourceId, now, from, to);
+    }
+}
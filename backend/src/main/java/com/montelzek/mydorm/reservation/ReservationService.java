@@ -3,201 +3,287 @@ package com.montelzek.mydorm.reservation;
 import com.montelzek.mydorm.constants.ApplicationConstants;
 import com.montelzek.mydorm.exception.BusinessException;
 import com.montelzek.mydorm.exception.ErrorCodes;
+import com.montelzek.mydorm.idempotency.IdempotencyStore;
 import com.montelzek.mydorm.reservation.payload.AdminReservationPayload;
 import com.montelzek.mydorm.reservation.payload.GraphQLPayloads;
+import com.montelzek.mydorm.reservation.payload.ReservationCursorPage;
 import com.montelzek.mydorm.reservation.payload.ReservationPage;
 import com.montelzek.mydorm.reservation_resource.EResourceType;
 import com.montelzek.mydorm.reservation_resource.ReservationResource;
 import com.montelzek.mydorm.reservation_resource.ReservationResourceRepository;
 import com.montelzek.mydorm.user.User;
 import com.montelzek.mydorm.user.UserRepository;
+import com.montelzek.mydorm.util.SearchPatterns;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class ReservationService {
 
+    // Each reservations partition carries its own copy, named <partition>_no_resource_overlap etc.
+    private static final String RESOURCE_OVERLAP_CONSTRAINT = "_no_resource_overlap";
+    private static final String USER_OVERLAP_CONSTRAINT = "_no_user_overlap";
+    private static final String CREATE_RESERVATION_OPERATION = "createReservation";
+
     private final ReservationRepository reservationRepository;
     private final ReservationResourceRepository reservationResourceRepository;
     private final UserRepository userRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final ReservationQuotaLedger quotaLedger;
+    private final LaundryWaitlistService laundryWaitlistService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyStore idempotencyStore;
 
 
     @Transactional
-    public Reservation createReservation(ZonedDateTime startTime, ZonedDateTime endTime, Long resourceId, User user) {
+    public Reservation createReservation(ZonedDateTime startTime, ZonedDateTime endTime, Long resourceId, Long userId) {
 
 
-        if (!endTime.isAfter(startTime)) {
-            throw new IllegalArgumentException("End time must be later than start time.");
+        ZoneId dormitoryZone = ApplicationConstants.DORMITORY_TIMEZONE;
+        LocalDateTime localStartTime = startTime.withZoneSameInstant(dormitoryZone).toLocalDateTime();
+        LocalDateTime localEndTime = endTime.withZoneSameInstant(dormitoryZone).toLocalDateTime();
+
+        validateTiming(localStartTime, localEndTime);
+
+        // Cheap rejection when the slot is already known to be taken; the database constraint is authoritative
+        if (slotOccupancyIndex.isKnownOccupied(resourceId, localStartTime, localEndTime)) {
+            throw resourceConflict();
         }
 
-        ReservationResource resource = reservationResourceRepository.findById(resourceId)
+        // Resource, user and both conflict checks in a single round trip
+        ReservationAdmission admission = reservationRepository.checkAdmission(
+                        userId, resourceId, localStartTime, localEndTime)
                 .orElseThrow(() -> new IllegalArgumentException("Resource with given ID not found: " + resourceId));
 
-        User currentUser = userRepository.findById(user.getId())
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
+        if (!admission.getUserExists()) {
+            throw new IllegalStateException("Authenticated user not found");
+        }
 
-        ZoneId dormitoryZone = ApplicationConstants.DORMITORY_TIMEZONE;
+        EResourceType resourceType = EResourceType.valueOf(admission.getResourceType());
+        ReservationQuotaLedger.Key quotaKey = ReservationQuotaLedger.Key.of(userId, resourceId, resourceType, localStartTime);
+        int weeklyLimit = ReservationQuotaLedger.limitFor(resourceType);
 
-        ZonedDateTime now = ZonedDateTime.now(dormitoryZone);
-        if (startTime.withZoneSameInstant(dormitoryZone).isBefore(now)) {
-            throw new BusinessException(ErrorCodes.PAST_RESERVATION, ApplicationConstants.PAST_RESERVATION_MESSAGE, "startTime");
+        if (!quotaLedger.hasCapacity(quotaKey, weeklyLimit)) {
+            throw weeklyLimitReached(resourceType);
         }
 
-        // Check weekly limits
-        LocalDateTime localStartDateTime = startTime.withZoneSameInstant(dormitoryZone).toLocalDateTime();
-        LocalDate reservationDate = localStartDateTime.toLocalDate();
-        
-        // Get week boundaries (Monday to Sunday)
-        LocalDate weekStart = reservationDate.with(java.time.DayOfWeek.MONDAY);
-        LocalDate weekEnd = weekStart.plusDays(7);
-        LocalDateTime weekStartDateTime = weekStart.atStartOfDay();
-        LocalDateTime weekEndDateTime = weekEnd.atStartOfDay();
-
-        if (resource.getResourceType() == EResourceType.LAUNDRY) {
-
-            long laundryReservationsThisWeek = reservationRepository.countUserLaundryReservationsInWeek(
-                    currentUser.getId(), weekStartDateTime, weekEndDateTime);
-            
-            if (laundryReservationsThisWeek >= 2) {
-                throw new BusinessException(ErrorCodes.LAUNDRY_WEEKLY_LIMIT, 
-                    "You have reached the weekly limit of 2 laundry reservations for this week.", "weeklyLimit");
-            }
+        validateSlot(resourceType, localStartTime, localEndTime);
 
-            LocalTime localStartTime = startTime.withZoneSameInstant(dormitoryZone).toLocalTime();
-            LocalTime localEndTime = endTime.withZoneSameInstant(dormitoryZone).toLocalTime();
+        if (admission.getResourceConflict()) {
+            throw resourceConflict();
+        }
+        if (admission.getUserConflict()) {
+            throw userConflict();
+        }
 
+        // Binding weekly limit check; rolled back together with the reservation on failure
+        if (!quotaLedger.tryAcquire(quotaKey, weeklyLimit)) {
+            throw weeklyLimitReached(resourceType);
+        }
 
-            boolean isSlotValid = ApplicationConstants.LAUNDRY_SLOTS.stream().anyMatch(slot ->
-                    localStartTime.equals(slot[0]) && localEndTime.equals(slot[1])
-            );
+        Reservation newReservation = new Reservation();
+        newReservation.setStartTime(localStartTime);
+        newReservation.setEndTime(localEndTime);
+        newReservation.setReservationResource(reservationResourceRepository.getReferenceById(resourceId));
+        newReservation.setUser(userRepository.getReferenceById(userId));
+        newReservation.setStatus("CONFIRMED");
 
-            if (!isSlotValid) {
-                throw new IllegalArgumentException("Invalid time slot for laundry reservation.");
-            }
+        Reservation savedReservation;
+        try {
+            savedReservation = reservationRepository.saveAndFlush(newReservation);
+        } catch (DataIntegrityViolationException e) {
+            throw translateOverlapViolation(e);
+        }
+        eventPublisher.publishEvent(SlotAvailabilityEvent.taken(savedReservation));
 
-        } else {
-            // Check weekly limit for standard resources (max 1 per resource per week)
-            long resourceReservationsThisWeek = reservationRepository.countUserResourceReservationsInWeek(
-                    currentUser.getId(), resourceId, weekStartDateTime, weekEndDateTime);
-            
-            if (resourceReservationsThisWeek >= 1) {
-                throw new BusinessException(ErrorCodes.RESOURCE_WEEKLY_LIMIT, 
-                    "You have already reserved this resource once this week.", "weeklyLimit");
-            }
+        return savedReservation;
+    }
+
+    /**
+     * Checks the time range itself: it must be non-empty and must not start in the past
+     */
+    private void validateTiming(LocalDateTime localStartTime, LocalDateTime localEndTime) {
+        if (!localEndTime.isAfter(localStartTime)) {
+            throw new IllegalArgumentException("End time must be later than start time.");
+        }
+        if (localStartTime.isBefore(LocalDateTime.now(ApplicationConstants.DORMITORY_TIMEZONE))) {
+            throw new BusinessException(ErrorCodes.PAST_RESERVATION, ApplicationConstants.PAST_RESERVATION_MESSAGE, "startTime");
+        }
+    }
 
-            LocalTime localStartTime = startTime.withZoneSameInstant(dormitoryZone).toLocalTime();
-            LocalTime localEndTime = endTime.withZoneSameInstant(dormitoryZone).toLocalTime();
-            LocalDate localStartDate = startTime.withZoneSameInstant(dormitoryZone).toLocalDate();
-            LocalDate localEndDate = endTime.withZoneSameInstant(dormitoryZone).toLocalDate();
+    /**
+     * Checks the slot against the booking rules of the resource type
+     */
+    private void validateSlot(EResourceType resourceType, LocalDateTime localStartTime, LocalDateTime localEndTime) {
+        LocalTime localStartTimeOfDay = localStartTime.toLocalTime();
+        LocalTime localEndTimeOfDay = localEndTime.toLocalTime();
 
+        if (resourceType == EResourceType.LAUNDRY) {
+            boolean isSlotValid = ApplicationConstants.LAUNDRY_SLOTS.stream().anyMatch(slot ->
+                    localStartTimeOfDay.equals(slot[0]) && localEndTimeOfDay.equals(slot[1])
+            );
 
-            if (localStartTime.isBefore(ApplicationConstants.EARLIEST_RESERVATION_TIME)) {
-                throw new BusinessException(ErrorCodes.OUTSIDE_HOURS, ApplicationConstants.OUTSIDE_HOURS_START_MESSAGE, "startTime");
-            }
-            if (localEndTime.isAfter(ApplicationConstants.LATEST_RESERVATION_TIME)) {
-                throw new BusinessException(ErrorCodes.OUTSIDE_HOURS, ApplicationConstants.OUTSIDE_HOURS_END_MESSAGE, "endTime");
-            }
-            if (!localStartDate.isEqual(localEndDate)) {
-                throw new BusinessException(ErrorCodes.INVALID_DATE, ApplicationConstants.INVALID_DATE_MESSAGE, "date");
-            }
-            if (Duration.between(startTime, endTime).toHours() > ApplicationConstants.MAX_RESERVATION_DURATION_HOURS) {
-                throw new BusinessException(ErrorCodes.RESERVATION_TOO_LONG, ApplicationConstants.RESERVATION_TOO_LONG_MESSAGE, "duration");
-            }
-            if (startTime.getMinute() != 0 || startTime.getSecond() != 0 || endTime.getMinute() != 0 || endTime.getSecond() != 0) {
-                throw new BusinessException(ErrorCodes.INVALID_TIME, ApplicationConstants.INVALID_TIME_FORMAT_MESSAGE, "timeFormat");
+            if (!isSlotValid) {
+                throw new IllegalArgumentException("Invalid time slot for laundry reservation.");
             }
+            return;
         }
 
-        LocalDateTime localStartTime = startTime.withZoneSameInstant(dormitoryZone).toLocalDateTime();
-        LocalDateTime localEndTime = endTime.withZoneSameInstant(dormitoryZone).toLocalDateTime();
-        
-        // Check if resource is available
-        List<Reservation> conflictingReservations = reservationRepository.findConflictingReservations(
-                resourceId,
-                localStartTime,
-                localEndTime
-        );
-
-        if (!conflictingReservations.isEmpty()) {
-            throw new BusinessException(ErrorCodes.RESOURCE_CONFLICT, "Resource is already reserved in the selected time slot.", "timeSlot");
+        if (localStartTimeOfDay.isBefore(ApplicationConstants.EARLIEST_RESERVATION_TIME)) {
+            throw new BusinessException(ErrorCodes.OUTSIDE_HOURS, ApplicationConstants.OUTSIDE_HOURS_START_MESSAGE, "startTime");
         }
+        if (localEndTimeOfDay.isAfter(ApplicationConstants.LATEST_RESERVATION_TIME)) {
+            throw new BusinessException(ErrorCodes.OUTSIDE_HOURS, ApplicationConstants.OUTSIDE_HOURS_END_MESSAGE, "endTime");
+        }
+        if (!localStartTime.toLocalDate().isEqual(localEndTime.toLocalDate())) {
+            throw new BusinessException(ErrorCodes.INVALID_DATE, ApplicationConstants.INVALID_DATE_MESSAGE, "date");
+        }
+        if (Duration.between(localStartTime, localEndTime).toHours() > ApplicationConstants.MAX_RESERVATION_DURATION_HOURS) {
+            throw new BusinessException(ErrorCodes.RESERVATION_TOO_LONG, ApplicationConstants.RESERVATION_TOO_LONG_MESSAGE, "duration");
+        }
+        if (localStartTimeOfDay.getMinute() != 0 || localStartTimeOfDay.getSecond() != 0
+                || localEndTimeOfDay.getMinute() != 0 || localEndTimeOfDay.getSecond() != 0) {
+            throw new BusinessException(ErrorCodes.INVALID_TIME, ApplicationConstants.INVALID_TIME_FORMAT_MESSAGE, "timeFormat");
+        }
+    }
 
-        // Check if user already has a reservation in this time slot
-        List<Reservation> userConflictingReservations = reservationRepository.findUserConflictingReservations(
-                currentUser.getId(),
-                localStartTime,
-                localEndTime
-        );
-
-        if (!userConflictingReservations.isEmpty()) {
-            throw new BusinessException(ErrorCodes.USER_RESERVATION_CONFLICT, "You already have a reservation in this time slot.", "timeSlot");
+    private BusinessException weeklyLimitReached(EResourceType resourceType) {
+        if (resourceType == EResourceType.LAUNDRY) {
+            return new BusinessException(ErrorCodes.LAUNDRY_WEEKLY_LIMIT,
+                    "You have reached the weekly limit of 2 laundry reservations for this week.", "weeklyLimit");
         }
+        return new BusinessException(ErrorCodes.RESOURCE_WEEKLY_LIMIT,
+                "You have already reserved this resource once this week.", "weeklyLimit");
+    }
 
-        Reservation newReservation = new Reservation();
-        // Convert UTC time to local time before saving
-        newReservation.setStartTime(startTime.withZoneSameInstant(dormitoryZone).toLocalDateTime());
-        newReservation.setEndTime(endTime.withZoneSameInstant(dormitoryZone).toLocalDateTime());
-        newReservation.setReservationResource(resource);
-        newReservation.setUser(currentUser);
-        newReservation.setStatus("CONFIRMED");
+    private BusinessException resourceConflict() {
+        return new BusinessException(ErrorCodes.RESOURCE_CONFLICT, "Resource is already reserved in the selected time slot.", "timeSlot");
+    }
 
-        return reservationRepository.save(newReservation);
+    private BusinessException userConflict() {
+        return new BusinessException(ErrorCodes.USER_RESERVATION_CONFLICT, "You already have a reservation in this time slot.", "timeSlot");
     }
 
-    public List<LocalTime[]> getAvailableLaundrySlots(Long resourceId, LocalDate date) {
-        List<LocalTime[]> allSlots = new ArrayList<>(ApplicationConstants.LAUNDRY_SLOTS);
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-        List<Reservation> existingReservations = reservationRepository.findConflictingReservations(resourceId, startOfDay, endOfDay);
+    /**
+     * Maps a violation of the reservation exclusion constraints to the matching business error
+     */
+    private RuntimeException translateOverlapViolation(DataIntegrityViolationException e) {
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
 
-        existingReservations.forEach(reservation -> allSlots.removeIf(slot ->
-                reservation.getStartTime().toLocalTime().equals(slot[0]) &&
-                        reservation.getEndTime().toLocalTime().equals(slot[1])
-        ));
+        if (message.contains(RESOURCE_OVERLAP_CONSTRAINT)) {
+            return resourceConflict();
+        }
+        if (message.contains(USER_OVERLAP_CONSTRAINT)) {
+            return userConflict();
+        }
+        return e;
+    }
 
-        return allSlots;
+    public List<LocalTime[]> getAvailableLaundrySlots(Long resourceId, LocalDate date) {
+        int occupancy = slotOccupancyIndex.getOccupancy(resourceId, date);
+        return freeSlots(ApplicationConstants.LAUNDRY_SLOTS, occupancy, date);
     }
 
     public List<LocalTime[]> getAvailableStandardSlots(Long resourceId, LocalDate date) {
+        int occupancy = slotOccupancyIndex.getOccupancy(resourceId, date);
+        return freeSlots(standardSlots(), occupancy, date);
+    }
+
+    private List<LocalTime[]> standardSlots() {
         List<LocalTime[]> allSlots = new ArrayList<>();
 
         for (int hour = ApplicationConstants.STANDARD_SLOT_START.getHour(); hour <= ApplicationConstants.STANDARD_SLOT_END.getHour() - 1; hour++) {
             allSlots.add(new LocalTime[]{LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0)});
         }
         allSlots.add(new LocalTime[]{ApplicationConstants.STANDARD_SLOT_END, ApplicationConstants.STANDARD_SLOT_LAST_END});
-        
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-        List<Reservation> existingReservations = reservationRepository.findConflictingReservations(resourceId, startOfDay, endOfDay);
 
-        existingReservations.forEach(reservation -> {
-            LocalTime reservationStart = reservation.getStartTime().toLocalTime();
-            LocalTime reservationEnd = reservation.getEndTime().toLocalTime();
-            
-            allSlots.removeIf(slot -> {
-                LocalTime slotStart = slot[0];
-                LocalTime slotEnd = slot[1];
+        return allSlots;
+    }
+
+    private List<LocalTime[]> freeSlots(List<LocalTime[]> candidates, int occupancy, LocalDate date) {
+        return candidates.stream()
+                .filter(slot -> !slotOccupancyIndex.isSlotTaken(occupancy, date, slot[0], slot[1]))
+                .collect(Collectors.toList());
+    }
 
-                return slotStart.isBefore(reservationEnd) && slotEnd.isAfter(reservationStart);
-            });
-        });
+    /**
+     * Gets free slots for several resources over a date range. Resources are either given
+     * explicitly or taken from the active resources of a building; occupancy for all of them
+     * is resolved with at most one range query.
+     */
+    public List<GraphQLPayloads.ResourceDaySlots> getAvailableSlotsInRange(List<Long> resourceIds, Long buildingId,
+                                                                           String startDateString, String endDateString) {
+        LocalDate startDate = LocalDate.parse(startDateString);
+        LocalDate endDate = LocalDate.parse(endDateString);
 
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be earlier than start date.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= ApplicationConstants.MAX_AVAILABILITY_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + ApplicationConstants.MAX_AVAILABILITY_RANGE_DAYS + " days.");
+        }
 
-        return allSlots;
+        List<ReservationResource> resources;
+        if (resourceIds != null && !resourceIds.isEmpty()) {
+            resources = reservationResourceRepository.findAllById(resourceIds);
+        } else if (buildingId != null) {
+            resources = reservationResourceRepository.findByBuildingIdAndIsActive(buildingId, true);
+        } else {
+            throw new IllegalArgumentException("Either resourceIds or buildingId must be provided.");
+        }
+
+        List<Long> ids = resources.stream().map(ReservationResource::getId).collect(Collectors.toList());
+        Map<Long, Map<LocalDate, Integer>> occupancy = slotOccupancyIndex.getOccupancy(ids, startDate, endDate);
+        List<LocalTime[]> standardSlots = standardSlots();
+
+        List<GraphQLPayloads.ResourceDaySlots> result = new ArrayList<>();
+        for (ReservationResource resource : resources) {
+            List<LocalTime[]> candidates = resource.getResourceType() == EResourceType.LAUNDRY
+                    ? ApplicationConstants.LAUNDRY_SLOTS
+                    : standardSlots;
+            Map<LocalDate, Integer> resourceOccupancy = occupancy.get(resource.getId());
+
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                List<LocalTime[]> slots = freeSlots(candidates, resourceOccupancy.get(date), date);
+                result.add(new GraphQLPayloads.ResourceDaySlots(
+                        resource.getId(),
+                        date.toString(),
+                        convertSlotsToPayloads(slots, date)
+                ));
+            }
+        }
+
+        return result;
     }
 
     /**
@@ -216,22 +302,164 @@ public class ReservationService {
     }
 
     /**
-     * Creates reservation with parsed date-time strings
+     * Creates reservation with parsed date-time strings. A retry carrying the idempotency key
+     * of an earlier successful request returns that request's reservation.
      */
     @Transactional
-    public Reservation createReservationWithParsedTimes(String startTimeString, String endTimeString, Long resourceId, User user) {
+    public Reservation createReservationWithParsedTimes(String startTimeString, String endTimeString, Long resourceId, Long userId,
+                                                        String idempotencyKey) {
+        String requestHash = null;
+        if (idempotencyKey != null) {
+            requestHash = IdempotencyStore.requestHash(resourceId, startTimeString, endTimeString);
+            Optional<Long> earlier = idempotencyStore.claim(userId, CREATE_RESERVATION_OPERATION, idempotencyKey, requestHash);
+            if (earlier.isPresent()) {
+                return reservationRepository.findById(earlier.get())
+                        .orElseThrow(() -> new IllegalStateException("Reservation created for idempotency key no longer exists"));
+            }
+        }
+
         ZonedDateTime parsedStartTime = parseFlexibleDateTime(startTimeString);
         ZonedDateTime parsedEndTime = parseFlexibleDateTime(endTimeString);
-        
-        return createReservation(parsedStartTime, parsedEndTime, resourceId, user);
+
+        Reservation reservation = createReservation(parsedStartTime, parsedEndTime, resourceId, userId);
+        if (idempotencyKey != null) {
+            idempotencyStore.complete(userId, CREATE_RESERVATION_OPERATION, idempotencyKey, requestHash, reservation.getId());
+        }
+        return reservation;
     }
 
     /**
-     * Gets user by ID with proper error handling
+     * Books every occurrence of a recurrence rule. Conflicts are checked against two range
+     * queries covering all occurrences, quota and inserts each go to the database as a
+     * single batch, and every occurrence reports its own outcome instead of failing the rest.
      */
-    public User getUserById(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found in the database"));
+    @Transactional
+    public GraphQLPayloads.RecurringReservationResult createRecurringReservation(
+            GraphQLPayloads.CreateRecurringReservationInput input, Long userId) {
+
+        ChronoUnit unit = switch (input.frequency().toUpperCase()) {
+            case "DAILY" -> ChronoUnit.DAYS;
+            case "WEEKLY" -> ChronoUnit.WEEKS;
+            default -> throw new IllegalArgumentException("Unsupported recurrence frequency: " + input.frequency());
+        };
+        int interval = input.interval() != null ? input.interval() : 1;
+        if (interval < 1) {
+            throw new IllegalArgumentException("Recurrence interval must be at least 1.");
+        }
+        if (input.occurrences() < 1 || input.occurrences() > ApplicationConstants.MAX_RECURRING_OCCURRENCES) {
+            throw new IllegalArgumentException("Number of occurrences must be between 1 and "
+                    + ApplicationConstants.MAX_RECURRING_OCCURRENCES + ".");
+        }
+
+        ZoneId dormitoryZone = ApplicationConstants.DORMITORY_TIMEZONE;
+        LocalDateTime firstStart = parseFlexibleDateTime(input.startTime()).withZoneSameInstant(dormitoryZone).toLocalDateTime();
+        LocalDateTime firstEnd = parseFlexibleDateTime(input.endTime()).withZoneSameInstant(dormitoryZone).toLocalDateTime();
+
+        ReservationResource resource = reservationResourceRepository.findById(input.resourceId())
+                .orElseThrow(() -> new IllegalArgumentException("Resource with given ID not found: " + input.resourceId()));
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalStateException("Authenticated user not found");
+        }
+
+        EResourceType resourceType = resource.getResourceType();
+        int weeklyLimit = ReservationQuotaLedger.limitFor(resourceType);
+
+        List<LocalDateTime[]> occurrences = new ArrayList<>();
+        for (int i = 0; i < input.occurrences(); i++) {
+            long offset = (long) i * interval;
+            occurrences.add(new LocalDateTime[]{firstStart.plus(offset, unit), firstEnd.plus(offset, unit)});
+        }
+
+        LocalDateTime rangeStart = occurrences.get(0)[0];
+        LocalDateTime rangeEnd = occurrences.get(occurrences.size() - 1)[1];
+        List<ReservationInterval> resourceTaken = reservationRepository.findConfirmedIntervals(resource.getId(), rangeStart, rangeEnd);
+        List<ReservationInterval> userTaken = reservationRepository.findConfirmedUserIntervals(userId, rangeStart, rangeEnd);
+
+        Map<LocalDateTime, BusinessException> failures = new HashMap<>();
+        List<LocalDateTime[]> candidates = new ArrayList<>();
+        List<ReservationQuotaLedger.Key> candidateKeys = new ArrayList<>();
+
+        for (LocalDateTime[] occurrence : occurrences) {
+            ReservationQuotaLedger.Key quotaKey = ReservationQuotaLedger.Key.of(userId, resource.getId(), resourceType, occurrence[0]);
+            try {
+                validateTiming(occurrence[0], occurrence[1]);
+                validateSlot(resourceType, occurrence[0], occurrence[1]);
+                if (overlapsAny(resourceTaken, occurrence)) {
+                    throw resourceConflict();
+                }
+                if (overlapsAny(userTaken, occurrence)) {
+                    throw userConflict();
+                }
+                if (!quotaLedger.hasCapacity(quotaKey, weeklyLimit)) {
+                    throw weeklyLimitReached(resourceType);
+                }
+            } catch (BusinessException e) {
+                failures.put(occurrence[0], e);
+                continue;
+            } catch (IllegalArgumentException e) {
+                failures.put(occurrence[0], new BusinessException(ErrorCodes.VALIDATION_ERROR, e.getMessage(), "timeSlot"));
+                continue;
+            }
+            candidates.add(occurrence);
+            candidateKeys.add(quotaKey);
+        }
+
+        List<LocalDateTime[]> admitted = new ArrayList<>();
+        List<ReservationQuotaLedger.Key> admittedKeys = new ArrayList<>();
+        if (!candidates.isEmpty()) {
+            boolean[] acquired = quotaLedger.tryAcquireAll(candidateKeys, weeklyLimit);
+            for (int i = 0; i < candidates.size(); i++) {
+                if (acquired[i]) {
+                    admitted.add(candidates.get(i));
+                    admittedKeys.add(candidateKeys.get(i));
+                } else {
+                    failures.put(candidates.get(i)[0], weeklyLimitReached(resourceType));
+                }
+            }
+        }
+
+        Map<LocalDateTime, Reservation> created = new HashMap<>();
+        if (!admitted.isEmpty()) {
+            reservationRepository.insertConfirmedBatch(userId, resource.getId(), admitted);
+
+            List<LocalDateTime> admittedStarts = admitted.stream().map(slot -> slot[0]).collect(Collectors.toList());
+            for (Reservation reservation : reservationRepository.findConfirmedByStartTimes(userId, resource.getId(), admittedStarts)) {
+                created.put(reservation.getStartTime(), reservation);
+                eventPublisher.publishEvent(SlotAvailabilityEvent.taken(reservation));
+            }
+
+            // Rows skipped by the overlap constraints lost a race since the range queries ran
+            for (int i = 0; i < admitted.size(); i++) {
+                LocalDateTime start = admitted.get(i)[0];
+                if (!created.containsKey(start)) {
+                    quotaLedger.release(admittedKeys.get(i));
+                    failures.put(start, resourceConflict());
+                }
+            }
+        }
+
+        List<GraphQLPayloads.ReservationOccurrenceResult> results = new ArrayList<>();
+        for (LocalDateTime[] occurrence : occurrences) {
+            String startTimeString = occurrence[0].atZone(dormitoryZone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+            String endTimeString = occurrence[1].atZone(dormitoryZone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+            Reservation reservation = created.get(occurrence[0]);
+
+            if (reservation != null) {
+                results.add(new GraphQLPayloads.ReservationOccurrenceResult(
+                        startTimeString, endTimeString, true, toPayload(reservation), null, null));
+            } else {
+                BusinessException failure = failures.get(occurrence[0]);
+                results.add(new GraphQLPayloads.ReservationOccurrenceResult(
+                        startTimeString, endTimeString, false, null, failure.getErrorCode(), failure.getMessage()));
+            }
+        }
+
+        return new GraphQLPayloads.RecurringReservationResult(created.size(), results);
+    }
+
+    private static boolean overlapsAny(List<ReservationInterval> intervals, LocalDateTime[] slot) {
+        return intervals.stream().anyMatch(interval ->
+                interval.getStartTime().isBefore(slot[1]) && interval.getEndTime().isAfter(slot[0]));
     }
 
     /**
@@ -275,31 +503,48 @@ public class ReservationService {
      * Converts Reservation entity to GraphQL payload
      */
     public GraphQLPayloads.ReservationPayload toPayload(Reservation reservation) {
-        User user = reservation.getUser();
-        ReservationResource resource = reservation.getReservationResource();
-
-        GraphQLPayloads.BuildingPayload buildingPayload = user.getRoom() != null && user.getRoom().getBuilding() != null ?
-                new GraphQLPayloads.BuildingPayload(user.getRoom().getBuilding().getId(), user.getRoom().getBuilding().getName()) : null;
-        GraphQLPayloads.RoomPayload roomPayload = user.getRoom() != null ?
-                new GraphQLPayloads.RoomPayload(user.getRoom().getId(), user.getRoom().getRoomNumber()) : null;
-
-        GraphQLPayloads.UserPayload userPayload = new GraphQLPayloads.UserPayload(user.getId(), user.getFirstName(), user.getLastName(), user.getRoles().iterator().next().name(), buildingPayload, roomPayload);
-        GraphQLPayloads.ReservationResourcePayload resourcePayload = new GraphQLPayloads.ReservationResourcePayload(resource.getId(), resource.getName(), resource.getResourceType().name());
-
         ZoneId dormitoryZone = ApplicationConstants.DORMITORY_TIMEZONE;
         String startTimeString = reservation.getStartTime().atZone(dormitoryZone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
         String endTimeString = reservation.getEndTime().atZone(dormitoryZone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
 
+        // Reading the ids of lazy associations does not initialize them
         return new GraphQLPayloads.ReservationPayload(
                 reservation.getId(),
                 startTimeString,
                 endTimeString,
                 reservation.getStatus(),
-                resourcePayload,
-                userPayload
+                reservation.getReservationResource().getId(),
+                reservation.getUser().getId()
         );
     }
 
+    /**
+     * Loads the resources referenced by a batch of reservation payloads with a single query.
+     */
+    public Map<Long, GraphQLPayloads.ReservationResourcePayload> getResourcePayloads(Collection<Long> resourceIds) {
+        return reservationResourceRepository.findAllById(resourceIds).stream()
+                .collect(Collectors.toMap(ReservationResource::getId, resource ->
+                        new GraphQLPayloads.ReservationResourcePayload(resource.getId(), resource.getName(), resource.getResourceType().name())));
+    }
+
+    /**
+     * Loads the users referenced by a batch of reservation payloads, together with their rooms
+     * and buildings, with a single query.
+     */
+    public Map<Long, GraphQLPayloads.UserPayload> getUserPayloads(Collection<Long> userIds) {
+        return userRepository.findAllWithRoomByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, this::toUserPayload, (first, second) -> first));
+    }
+
+    private GraphQLPayloads.UserPayload toUserPayload(User user) {
+        GraphQLPayloads.BuildingPayload buildingPayload = user.getRoom() != null && user.getRoom().getBuilding() != null ?
+                new GraphQLPayloads.BuildingPayload(user.getRoom().getBuilding().getId(), user.getRoom().getBuilding().getName()) : null;
+        GraphQLPayloads.RoomPayload roomPayload = user.getRoom() != null ?
+                new GraphQLPayloads.RoomPayload(user.getRoom().getId(), user.getRoom().getRoomNumber()) : null;
+
+        return new GraphQLPayloads.UserPayload(user.getId(), user.getFirstName(), user.getLastName(), user.getRoles().iterator().next().name(), buildingPayload, roomPayload);
+    }
+
     /**
      * Gets user's reservations as GraphQL payloads
      */
@@ -335,6 +580,9 @@ public class ReservationService {
 
         reservation.setStatus("CANCELLED");
         reservationRepository.save(reservation);
+        eventPublisher.publishEvent(SlotAvailabilityEvent.freed(reservation));
+        quotaLedger.release(ReservationQuotaLedger.Key.of(reservation));
+        laundryWaitlistService.promoteNextWaiter(reservation);
 
         return true;
     }
@@ -372,9 +620,13 @@ public class ReservationService {
                             (search != null && !search.trim().isEmpty());
         
         if (hasFilters) {
-            reservationPage = reservationRepository.findFutureConfirmedReservationsWithFilters(
-                resourceId, buildingId, date, search, now, pageable
-            );
+            String pattern = SearchPatterns.contains(search);
+            Pageable idPage = PageRequest.of(pageNumber, pageSize);
+            List<Long> ids = direction == Sort.Direction.DESC
+                    ? reservationRepository.findFutureConfirmedIdsDesc(resourceId, buildingId, date, pattern, now, idPage)
+                    : reservationRepository.findFutureConfirmedIdsAsc(resourceId, buildingId, date, pattern, now, idPage);
+            long total = reservationRepository.countFutureConfirmedWithFilters(resourceId, buildingId, date, pattern, now);
+            reservationPage = new PageImpl<>(findAllInOrder(ids), pageable, total);
         } else {
             reservationPage = reservationRepository.findFutureConfirmedReservations(now, pageable);
         }
@@ -392,6 +644,94 @@ public class ReservationService {
         );
     }
 
+    /**
+     * Cursor-based variant of {@link #getAdminReservationsPage}. Seeks past the (startTime, id)
+     * of the last row instead of skipping an offset, so every page costs the same; the total
+     * count is a separate query and only runs when asked for.
+     */
+    public ReservationCursorPage getAdminReservationsCursor(Integer first, String after, String sortDirection,
+                                                            Long resourceId, Long buildingId, String dateStr,
+                                                            String search, Boolean includeTotal) {
+        int pageSize = first != null ? first : 10;
+        if (pageSize < 1 || pageSize > ApplicationConstants.MAX_ADMIN_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + ApplicationConstants.MAX_ADMIN_PAGE_SIZE + ".");
+        }
+
+        LocalDateTime cursorStart = null;
+        Long cursorId = null;
+        if (after != null && !after.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8).split("\\|", 2);
+                cursorStart = LocalDateTime.parse(parts[0]);
+                cursorId = Long.parseLong(parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + after, e);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now(ApplicationConstants.DORMITORY_TIMEZONE);
+
+        LocalDate date = null;
+        if (dateStr != null && !dateStr.trim().isEmpty()) {
+            try {
+                date = LocalDate.parse(dateStr);
+            } catch (DateTimeParseException e) {
+                // Invalid date format, ignore
+            }
+        }
+
+        String pattern = SearchPatterns.contains(search);
+
+        // One extra row tells whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+        List<Long> ids;
+        if (cursorStart == null) {
+            Pageable firstPage = PageRequest.of(0, limit.max());
+            ids = descending
+                    ? reservationRepository.findFutureConfirmedIdsDesc(resourceId, buildingId, date, pattern, now, firstPage)
+                    : reservationRepository.findFutureConfirmedIdsAsc(resourceId, buildingId, date, pattern, now, firstPage);
+        } else {
+            ids = descending
+                    ? reservationRepository.findFutureConfirmedIdsAfterCursorDesc(cursorStart, cursorId, resourceId, buildingId, date, pattern, now, limit)
+                    : reservationRepository.findFutureConfirmedIdsAfterCursorAsc(cursorStart, cursorId, resourceId, buildingId, date, pattern, now, limit);
+        }
+        List<Reservation> rows = findAllInOrder(ids);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Reservation> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Reservation last = pageRows.get(pageRows.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.getStartTime() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        Integer totalElements = Boolean.TRUE.equals(includeTotal)
+                ? (int) reservationRepository.countFutureConfirmedWithFilters(resourceId, buildingId, date, pattern, now)
+                : null;
+
+        List<AdminReservationPayload> content = pageRows.stream()
+                .map(this::toAdminPayload)
+                .collect(Collectors.toList());
+
+        return new ReservationCursorPage(content, nextCursor, hasNext, totalElements);
+    }
+
+    // Loads the rows behind an ordered id list in one query, keeping the order of the ids
+    private List<Reservation> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Reservation> byId = reservationRepository.findAllWithDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     private AdminReservationPayload toAdminPayload(Reservation reservation) {
         User user = reservation.getUser();
         ReservationResource resource = reservation.getReservationResource();
@@ -438,6 +778,32 @@ public class ReservationService {
         );
     }
 
+    /**
+     * Cancels, as one update, every upcoming confirmed reservation of a resource that overlaps
+     * [from, to); a null {@code to} cancels all of them. Used when a resource is deactivated or
+     * claimed by an event. Returns the cancelled reservations, whose users are the ones affected.
+     */
+    @Transactional
+    public List<CancelledReservation> cancelReservationsForResource(Long resourceId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now(ApplicationConstants.DORMITORY_TIMEZONE);
+        List<CancelledReservation> cancelled = reservationRepository.cancelConfirmedOverlapping(resourceId, from, to, now);
+
+        List<ReservationQuotaLedger.Key> quotaKeys = new ArrayList<>(cancelled.size());
+        for (CancelledReservation reservation : cancelled) {
+            eventPublisher.publishEvent(new SlotAvailabilityEvent(
+                    reservation.resourceId(), reservation.userId(), reservation.startTime(), reservation.endTime(), false));
+            quotaKeys.add(ReservationQuotaLedger.Key.of(
+                    reservation.userId(), reservation.resourceId(), reservation.resourceType(), reservation.startTime()));
+        }
+        quotaLedger.releaseAll(quotaKeys);
+
+        if (!cancelled.isEmpty()) {
+            log.info("Cancelled {} reservations of resource {} for users {}", cancelled.size(), resourceId,
+                    cancelled.stream().map(CancelledReservation::userId).distinct().toList());
+        }
+        return cancelled;
+    }
+
     @Transactional
     public boolean cancelReservationByAdmin(Long reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
@@ -457,6 +823,9 @@ public class ReservationService {
 
         reservation.setStatus("CANCELLED");
         reservationRepository.save(reservation);
+        eventPublisher.publishEvent(SlotAvailabilityEvent.freed(reservation));
+        quotaLedger.release(ReservationQuotaLedger.Key.of(reservation));
+        laundryWaitlistService.promoteNextWaiter(reservation);
 
         return true;
     }
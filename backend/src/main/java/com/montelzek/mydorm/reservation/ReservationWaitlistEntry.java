@@ -0,0 +1,46 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.reservation_resource.ReservationResource;
+import com.montelzek.mydorm.user.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reservation_waitlist")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationWaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "start_time", nullable = false)
+    @NotNull
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    @NotNull
+    private LocalDateTime endTime;
+
+    @Column(name = "created_at", updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "resource_id", nullable = false)
+    private ReservationResource reservationResource;
+}
@@ -0,0 +1,39 @@
+package com.montelzek.mydorm.reservation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReservationWaitlistRepository extends JpaRepository<ReservationWaitlistEntry, Long> {
+
+    @Query("""
+       SELECT w.id AS id, w.user.id AS userId, w.reservationResource.id AS resourceId,
+              w.startTime AS startTime, w.endTime AS endTime
+       FROM ReservationWaitlistEntry w
+       WHERE w.startTime > :now
+       ORDER BY w.id
+       """)
+    List<WaitlistSlotEntry> findUpcomingEntries(@Param("now") LocalDateTime now);
+
+    @Query("""
+       SELECT w FROM ReservationWaitlistEntry w
+       JOIN FETCH w.reservationResource
+       WHERE w.user.id = :userId AND w.startTime > :now
+       ORDER BY w.startTime ASC
+       """)
+    List<ReservationWaitlistEntry> findUpcomingByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    boolean existsByUserIdAndReservationResourceIdAndStartTime(Long userId, Long resourceId, LocalDateTime startTime);
+
+    /**
+     * Locks the entry for the duration of a promotion so that a concurrent leave waits for it.
+     */
+    @Query(value = "SELECT id FROM reservation_waitlist WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockEntry(@Param("id") Long id);
+}
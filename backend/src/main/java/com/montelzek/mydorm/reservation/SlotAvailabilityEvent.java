@@ -0,0 +1,20 @@
+package com.montelzek.mydorm.reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a confirmed reservation starts or stops occupying a slot. Listeners that
+ * update caches or notify clients react to it after the publishing transaction commits.
+ */
+public record SlotAvailabilityEvent(Long resourceId, Long userId, LocalDateTime startTime, LocalDateTime endTime, boolean taken) {
+
+    public static SlotAvailabilityEvent taken(Reservation reservation) {
+        return new SlotAvailabilityEvent(reservation.getReservationResource().getId(), reservation.getUser().getId(),
+                reservation.getStartTime(), reservation.getEndTime(), true);
+    }
+
+    public static SlotAvailabilityEvent freed(Reservation reservation) {
+        return new SlotAvailabilityEvent(reservation.getReservationResource().getId(), reservation.getUser().getId(),
+                reservation.getStartTime(), reservation.getEndTime(), false);
+    }
+}
@@ -0,0 +1,47 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import com.montelzek.mydorm.reservation.payload.GraphQLPayloads;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Fans committed slot changes out to GraphQL subscribers. Subscribers that cannot keep up
+ * miss deltas rather than slowing down the publishing thread.
+ */
+@Component
+public class SlotAvailabilityPublisher {
+
+    private final Sinks.Many<SlotAvailabilityEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotAvailabilityChanged(SlotAvailabilityEvent event) {
+        // Commits on different threads may emit at the same time; the sink needs serialized calls
+        sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+
+    public Flux<GraphQLPayloads.SlotAvailabilityDelta> deltas(Long resourceId, LocalDate date) {
+        return sink.asFlux()
+                .filter(event -> event.resourceId().equals(resourceId)
+                        && event.startTime().isBefore(date.plusDays(1).atStartOfDay())
+                        && event.endTime().isAfter(date.atStartOfDay()))
+                .map(this::toDelta);
+    }
+
+    private GraphQLPayloads.SlotAvailabilityDelta toDelta(SlotAvailabilityEvent event) {
+        ZoneId dormitoryZone = ApplicationConstants.DORMITORY_TIMEZONE;
+        return new GraphQLPayloads.SlotAvailabilityDelta(
+                event.resourceId(),
+                event.startTime().atZone(dormitoryZone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                event.endTime().atZone(dormitoryZone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                event.taken() ? "TAKEN" : "FREED"
+        );
+    }
+}
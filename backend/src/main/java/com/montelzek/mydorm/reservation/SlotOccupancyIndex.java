@@ -0,0 +1,219 @@
+package com.montelzek.mydorm.reservation;
+
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps an hourly occupancy mask per (resource, day) so that slot availability can be
+ * answered from memory once a day has been loaded. Bit {@code h} of a mask is set when a
+ * confirmed reservation covers any part of the hour [h:00, h+1:00).
+ * <p>
+ * Days are loaded lazily on first read. Only days from today up to
+ * {@code reservations.occupancy.horizon-days} ahead are cached; others are answered from the
+ * database every time, and past days are evicted nightly. Writes arrive as
+ * {@link SlotAvailabilityEvent}s once the publishing transaction has committed and only touch
+ * days that are already cached; a load that raced with a write to the same day is simply not
+ * cached, so the next read reloads it.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    private static final int HOURS_PER_DAY = 24;
+
+    // Write versions per (resource, day), striped so that memory stays fixed; a stripe shared
+    // by two keys only costs an occasional skipped cache fill
+    private static final int VERSION_STRIPES = 1024;
+
+    private final ReservationRepository reservationRepository;
+    private final int horizonDays;
+
+    private final ConcurrentMap<Key, Integer> occupancy = new ConcurrentHashMap<>();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    private record Key(Long resourceId, LocalDate date) {
+
+        int stripe() {
+            return (hashCode() & 0x7fffffff) % VERSION_STRIPES;
+        }
+    }
+
+    public SlotOccupancyIndex(ReservationRepository reservationRepository,
+                              @Value("${reservations.occupancy.horizon-days:62}") int horizonDays) {
+        this.reservationRepository = reservationRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Returns the occupancy mask for the given resource and day, loading it if needed.
+     */
+    public int getOccupancy(Long resourceId, LocalDate date) {
+        Key key = new Key(resourceId, date);
+        Integer cached = occupancy.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = versions.get(key.stripe());
+        List<ReservationInterval> intervals = reservationRepository.findConfirmedIntervals(
+                resourceId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+
+        int mask = 0;
+        for (ReservationInterval interval : intervals) {
+            mask |= hoursMask(date, interval.getStartTime(), interval.getEndTime());
+        }
+
+        Integer stored = cacheIfUnchanged(key, mask, version);
+        return stored != null ? stored : mask;
+    }
+
+    /**
+     * Returns occupancy masks for every resource and every day in [from, to]. Days that are
+     * not cached yet are filled from a single range scan over all resources that miss them.
+     */
+    public Map<Long, Map<LocalDate, Integer>> getOccupancy(Collection<Long> resourceIds, LocalDate from, LocalDate to) {
+        Map<Long, Map<LocalDate, Integer>> result = new HashMap<>();
+        Set<Long> missingResources = new HashSet<>();
+        Map<Key, Long> missingVersions = new HashMap<>();
+
+        for (Long resourceId : resourceIds) {
+            Map<LocalDate, Integer> days = new HashMap<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                Integer cached = occupancy.get(new Key(resourceId, date));
+                if (cached != null) {
+                    days.put(date, cached);
+                } else {
+                    Key key = new Key(resourceId, date);
+                    missingResources.add(resourceId);
+                    missingVersions.put(key, versions.get(key.stripe()));
+                }
+            }
+            result.put(resourceId, days);
+        }
+
+        if (missingResources.isEmpty()) {
+            return result;
+        }
+
+        List<ReservationInterval> intervals = reservationRepository.findConfirmedIntervalsForResources(
+                missingResources, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        Map<Long, List<ReservationInterval>> intervalsByResource = intervals.stream()
+                .collect(Collectors.groupingBy(ReservationInterval::getResourceId));
+
+        for (Long resourceId : missingResources) {
+            List<ReservationInterval> resourceIntervals = intervalsByResource.getOrDefault(resourceId, List.of());
+            Map<LocalDate, Integer> days = result.get(resourceId);
+
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (days.containsKey(date)) {
+                    continue;
+                }
+                int mask = 0;
+                for (ReservationInterval interval : resourceIntervals) {
+                    mask |= hoursMask(date, interval.getStartTime(), interval.getEndTime());
+                }
+                Key key = new Key(resourceId, date);
+                Integer stored = cacheIfUnchanged(key, mask, missingVersions.get(key));
+                days.put(date, stored != null ? stored : mask);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Tells whether any hour of the [start, end) slot on the given day is occupied.
+     */
+    public boolean isSlotTaken(int occupancyMask, LocalDate date, LocalTime start, LocalTime end) {
+        return (occupancyMask & hoursMask(date, date.atTime(start), date.atTime(end))) != 0;
+    }
+
+    /**
+     * Tells whether [start, end) overlaps an occupied hour on a day that is already cached.
+     * Never queries the database, so an uncached day is reported as not occupied.
+     */
+    public boolean isKnownOccupied(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+            Integer cached = occupancy.get(new Key(resourceId, date));
+            if (cached != null && (cached & hoursMask(date, start, end)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotAvailabilityChanged(SlotAvailabilityEvent event) {
+        apply(event.resourceId(), event.startTime(), event.endTime(), event.taken());
+    }
+
+    @Scheduled(cron = "${reservations.occupancy.eviction-cron:0 5 0 * * *}", zone = "Europe/Warsaw")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now(ApplicationConstants.DORMITORY_TIMEZONE);
+        occupancy.keySet().removeIf(key -> key.date().isBefore(today));
+    }
+
+    private Integer cacheIfUnchanged(Key key, int mask, long version) {
+        if (!withinHorizon(key.date())) {
+            return null;
+        }
+        // Holding the bin lock here orders this insert against concurrent computeIfPresent updates
+        return occupancy.computeIfAbsent(key, k -> versions.get(k.stripe()) == version ? mask : null);
+    }
+
+    private boolean withinHorizon(LocalDate date) {
+        LocalDate today = LocalDate.now(ApplicationConstants.DORMITORY_TIMEZONE);
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(horizonDays));
+    }
+
+    private void apply(Long resourceId, LocalDateTime start, LocalDateTime end, boolean occupied) {
+        for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+            Key key = new Key(resourceId, date);
+            int mask = hoursMask(date, start, end);
+            // Bumped before the update so that a load of this day already in flight is not cached
+            versions.incrementAndGet(key.stripe());
+            occupancy.computeIfPresent(key, (k, current) -> occupied ? current | mask : current & ~mask);
+        }
+    }
+
+    private static int hoursMask(LocalDate date, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+        if (!start.isBefore(dayEnd) || !end.isAfter(dayStart)) {
+            return 0;
+        }
+
+        int firstHour = start.isAfter(dayStart) ? start.getHour() : 0;
+        int lastHourExclusive;
+        if (!end.isBefore(dayEnd)) {
+            lastHourExclusive = HOURS_PER_DAY;
+        } else {
+            LocalTime endTime = end.toLocalTime();
+            boolean onHourBoundary = endTime.getMinute() == 0 && endTime.getSecond() == 0 && endTime.getNano() == 0;
+            lastHourExclusive = onHourBoundary ? endTime.getHour() : endTime.getHour() + 1;
+        }
+
+        int mask = 0;
+        for (int hour = firstHour; hour < lastHourExclusive; hour++) {
+            mask |= 1 << hour;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,19 @@
+package com.montelzek.mydorm.reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a waitlist row with plain ids, used to rebuild the in-memory queues.
+ */
+public interface WaitlistSlotEntry {
+
+    Long getId();
+
+    Long getUserId();
+
+    Long getResourceId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
@@ -2,17 +2,43 @@ package com.montelzek.mydorm.reservation.payload;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
 
 public class GraphQLPayloads {
     public record CreateReservationInput(
         @NotNull Long resourceId, 
         @NotBlank String startTime, 
+        @NotBlank String endTime,
+        @Size(min = 1, max = 100) String idempotencyKey
+    ) {}
+    public record CreateRecurringReservationInput(
+        @NotNull Long resourceId,
+        @NotBlank String startTime,
+        @NotBlank String endTime,
+        @NotBlank String frequency,
+        Integer interval,
+        @NotNull Integer occurrences
+    ) {}
+    public record ReservationOccurrenceResult(String startTime, String endTime, boolean success, ReservationPayload reservation, String errorCode, String message) {}
+    public record RecurringReservationResult(int createdCount, List<ReservationOccurrenceResult> occurrences) {}
+    public record JoinWaitlistInput(
+        @NotNull Long resourceId,
+        @NotBlank String startTime,
         @NotBlank String endTime
     ) {}
+    public record WaitlistEntryPayload(Long id, ReservationResourcePayload resource, String startTime, String endTime, int position) {}
+    public record SlotAvailabilityDelta(Long resourceId, String startTime, String endTime, String change) {}
     public record TimeSlot(String startTime, String endTime) {}
+    public record ResourceDaySlots(Long resourceId, String date, List<TimeSlot> slots) {}
     public record BuildingPayload(Long id, String name) {}
     public record RoomPayload(Long id, String roomNumber) {}
     public record ReservationResourcePayload(Long id, String name, String resourceType) {}
     public record UserPayload(Long id, String firstName, String lastName, String role, BuildingPayload building, RoomPayload room) {}
-    public record ReservationPayload(Long id, String startTime, String endTime, String status, ReservationResourcePayload resource, UserPayload user) {}
+    /**
+     * The nested resource and user are resolved by batch mappings in ReservationController, so
+     * the payload only carries their ids.
+     */
+    public record ReservationPayload(Long id, String startTime, String endTime, String status, Long resourceId, Long userId) {}
 }
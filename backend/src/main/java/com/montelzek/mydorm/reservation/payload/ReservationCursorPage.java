@@ -0,0 +1,13 @@
+package com.montelzek.mydorm.reservation.payload;
+
+import java.util.List;
+
+/**
+ * Keyset page of admin reservations. {@code totalElements} is only filled when requested.
+ */
+public record ReservationCursorPage(
+        List<AdminReservationPayload> content,
+        String nextCursor,
+        boolean hasNext,
+        Integer totalElements
+) {}
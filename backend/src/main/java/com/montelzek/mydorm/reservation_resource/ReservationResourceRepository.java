@@ -16,6 +16,9 @@ public interface ReservationResourceRepository extends JpaRepository<Reservation
     
     List<ReservationResource> findByBuildingIdAndIsActive(Long buildingId, boolean isActive);
     
+    @Query("SELECT r FROM ReservationResource r JOIN FETCH r.building WHERE (:buildingId IS NULL OR r.building.id = :buildingId)")
+    List<ReservationResource> findAllWithBuilding(@Param("buildingId") Long buildingId);
+
     @Query("SELECT DISTINCT r FROM ReservationResource r " +
             "LEFT JOIN r.building b " +
             "WHERE (:buildingId IS NULL OR r.building.id = :buildingId) AND " +
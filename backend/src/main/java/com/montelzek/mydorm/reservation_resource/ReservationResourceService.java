@@ -2,6 +2,8 @@ package com.montelzek.mydorm.reservation_resource;
 
 import com.montelzek.mydorm.building.Building;
 import com.montelzek.mydorm.building.BuildingRepository;
+import com.montelzek.mydorm.constants.ApplicationConstants;
+import com.montelzek.mydorm.reservation.ReservationService;
 import com.montelzek.mydorm.reservation_resource.payload.*;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
@@ -11,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,6 +24,7 @@ public class ReservationResourceService {
 
     private final ReservationResourceRepository resourceRepository;
     private final BuildingRepository buildingRepository;
+    private final ReservationService reservationService;
     
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -108,6 +112,10 @@ public class ReservationResourceService {
         
         resource.setActive(!resource.isActive());
         ReservationResource updated = resourceRepository.save(resource);
+
+        if (!updated.isActive()) {
+            reservationService.cancelReservationsForResource(updated.getId(), LocalDateTime.now(ApplicationConstants.DORMITORY_TIMEZONE), null);
+        }
         
         return toAdminPayload(updated);
     }
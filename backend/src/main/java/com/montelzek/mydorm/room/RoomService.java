@@ -2,10 +2,14 @@ package com.montelzek.mydorm.room;
 
 import com.montelzek.mydorm.building.Building;
 import com.montelzek.mydorm.building.BuildingRepository;
+import com.montelzek.mydorm.dashboard.DashboardCounter;
+import com.montelzek.mydorm.dashboard.DashboardCountersChanged;
+import com.montelzek.mydorm.dashboard.ResidentDashboardChanged;
 import com.montelzek.mydorm.room.payload.*;
 import com.montelzek.mydorm.room.payloads.RoomPayload;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +27,7 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final BuildingRepository buildingRepository;
     private final RoomStandardRepository roomStandardRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -70,6 +75,7 @@ public class RoomService {
         room.setRoomStandard(standard);
 
         Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(DashboardCountersChanged.of(DashboardCounter.ROOMS, 1));
         return toAdminPayload(saved);
     }
 
@@ -96,12 +102,15 @@ public class RoomService {
             throw new IllegalStateException("Selected standard capacity does not match room capacity.");
         }
 
+        Long previousBuildingId = room.getBuilding().getId();
         room.setRoomNumber(input.roomNumber());
         room.setBuilding(building);
         room.setCapacity(input.capacity());
         room.setRoomStandard(standard);
 
         Room updated = roomRepository.save(room);
+        // Residents of the room see its number and building on their dashboard
+        eventPublisher.publishEvent(ResidentDashboardChanged.forBuildings(List.of(previousBuildingId, building.getId())));
         return toAdminPayload(updated);
     }
 
@@ -126,6 +135,7 @@ public class RoomService {
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete room: " + e.getMessage(), e);
         }
+        eventPublisher.publishEvent(DashboardCountersChanged.of(DashboardCounter.ROOMS, -1));
 
         return true;
     }
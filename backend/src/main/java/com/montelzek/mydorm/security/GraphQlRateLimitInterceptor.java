@@ -0,0 +1,81 @@
+package com.montelzek.mydorm.security;
+
+import com.montelzek.mydorm.exception.ErrorCodes;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over the caller's rate limit before they are executed, so throttled
+ * requests never reach a data fetcher or the database. Anonymous requests pass through and
+ * are turned away by method security instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphQlRateLimitInterceptor implements WebGraphQlInterceptor {
+
+    private final GraphQlRateLimiter rateLimiter;
+    private final MessageSource messageSource;
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        Map<String, Integer> fieldCounts = rateLimiter.countLimitedFields(request.getDocument(), request.getOperationName());
+        if (fieldCounts.isEmpty()) {
+            return chain.next(request);
+        }
+
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return chain.next(request);
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(userId, fieldCounts);
+        if (waitNanos == 0) {
+            return chain.next(request);
+        }
+        return Mono.just(rejected(request, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+    }
+
+    private WebGraphQlResponse rejected(WebGraphQlRequest request, long retryAfterSeconds) {
+        String message = messageSource.getMessage(ErrorCodes.RATE_LIMITED.getCode(), null,
+                ErrorCodes.RATE_LIMITED.getDefaultMessage(), request.getLocale());
+        GraphQLError error = GraphqlErrorBuilder.newError()
+                .message(message)
+                .extensions(Map.of("errorCode", ErrorCodes.RATE_LIMITED.getCode(), "retryAfterSeconds", retryAfterSeconds))
+                .build();
+
+        WebGraphQlResponse response = new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(
+                request.toExecutionInput(), ExecutionResult.newExecutionResult().addError(error).build()));
+        response.getResponseHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return response;
+    }
+
+    private static Long currentUserId(WebGraphQlRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (request instanceof WebSocketGraphQlRequest webSocketRequest
+                && webSocketRequest.getSessionInfo().getAttributes().get(GraphQlWebSocketAuthInterceptor.SECURITY_CONTEXT_ATTRIBUTE)
+                instanceof SecurityContext sessionContext) {
+            authentication = sessionContext.getAuthentication();
+        }
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.montelzek.mydorm.security;
+
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user, per-operation token buckets for the expensive booking and availability fields.
+ * Limits come from {@code rate-limit.operations} as a comma separated list of
+ * {@code field:capacity:refillsPerMinute} entries; each top-level occurrence of a listed
+ * Query or Mutation field in a request costs one token.
+ */
+@Slf4j
+@Component
+public class GraphQlRateLimiter {
+
+    private record Limit(int capacity, long refillIntervalNanos) {}
+
+    private record BucketKey(Long userId, String field) {}
+
+    private final Map<String, Limit> limits;
+    private final ConcurrentMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public GraphQlRateLimiter(
+            @Value("${rate-limit.operations:createReservation:5:20,createRecurringReservation:2:5,"
+                    + "availableLaundrySlots:30:120,availableStandardSlots:30:120,availableSlotsInRange:10:30}") String operations) {
+        this.limits = parseLimits(operations);
+        log.info("GraphQL rate limits: {}", limits);
+    }
+
+    /**
+     * Counts the top-level rate-limited fields of the operation that will be executed.
+     * Returns an empty map when there are none or the document does not parse, in which case
+     * execution reports the syntax error as usual.
+     */
+    public Map<String, Integer> countLimitedFields(String document, String operationName) {
+        // Most requests name none of the limited fields; skip parsing those
+        if (limits.keySet().stream().noneMatch(document::contains)) {
+            return Map.of();
+        }
+
+        Document parsed;
+        try {
+            parsed = Parser.parse(document);
+        } catch (InvalidSyntaxException e) {
+            return Map.of();
+        }
+
+        Map<String, FragmentDefinition> fragments = new HashMap<>();
+        OperationDefinition operation = null;
+        for (Definition<?> definition : parsed.getDefinitions()) {
+            if (definition instanceof FragmentDefinition fragment) {
+                fragments.put(fragment.getName(), fragment);
+            } else if (definition instanceof OperationDefinition candidate
+                    && (operationName == null || operationName.equals(candidate.getName()))) {
+                operation = candidate;
+            }
+        }
+        if (operation == null || operation.getOperation() == OperationDefinition.Operation.SUBSCRIPTION) {
+            return Map.of();
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        countFields(operation.getSelectionSet(), fragments, counts, 0);
+        return counts;
+    }
+
+    /**
+     * Takes the tokens for every counted field, or none of them. Returns 0 when all were
+     * available, otherwise the nanoseconds until the first field found short would admit the
+     * request; tokens already taken for the other fields are given back.
+     */
+    public long tryAcquire(Long userId, Map<String, Integer> fieldCounts) {
+        long now = System.nanoTime();
+        List<Map.Entry<String, Integer>> taken = new ArrayList<>(fieldCounts.size());
+        for (Map.Entry<String, Integer> entry : fieldCounts.entrySet()) {
+            Limit limit = limits.get(entry.getKey());
+            long wait = bucket(userId, entry.getKey(), now).tryTake(entry.getValue(), limit.capacity(), limit.refillIntervalNanos(), now);
+            if (wait > 0) {
+                for (Map.Entry<String, Integer> refund : taken) {
+                    bucket(userId, refund.getKey(), now).refund(refund.getValue(), limits.get(refund.getKey()).refillIntervalNanos());
+                }
+                return wait;
+            }
+            taken.add(entry);
+        }
+        return 0;
+    }
+
+    // A full bucket behaves exactly like a missing one, so it can be dropped
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval-ms:60000}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private TokenBucket bucket(Long userId, String field, long now) {
+        return buckets.computeIfAbsent(new BucketKey(userId, field), key -> new TokenBucket(now));
+    }
+
+    private void countFields(SelectionSet selectionSet, Map<String, FragmentDefinition> fragments, Map<String, Integer> counts, int depth) {
+        if (selectionSet == null || depth > fragments.size()) {
+            return;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field field) {
+                if (limits.containsKey(field.getName())) {
+                    counts.merge(field.getName(), 1, Integer::sum);
+                }
+            } else if (selection instanceof InlineFragment inlineFragment) {
+                countFields(inlineFragment.getSelectionSet(), fragments, counts, depth + 1);
+            } else if (selection instanceof FragmentSpread spread && fragments.containsKey(spread.getName())) {
+                countFields(fragments.get(spread.getName()).getSelectionSet(), fragments, counts, depth + 1);
+            }
+        }
+    }
+
+    private static Map<String, Limit> parseLimits(String operations) {
+        Map<String, Limit> parsed = new HashMap<>();
+        for (String entry : operations.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid rate limit entry, expected field:capacity:refillsPerMinute: " + entry);
+            }
+            int capacity = Integer.parseInt(parts[1]);
+            int refillsPerMinute = Integer.parseInt(parts[2]);
+            if (capacity < 1 || refillsPerMinute < 1) {
+                throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive: " + entry);
+            }
+            parsed.put(parts[0], new Limit(capacity, TimeUnit.MINUTES.toNanos(1) / refillsPerMinute));
+        }
+        return Map.copyOf(parsed);
+    }
+}
@@ -0,0 +1,64 @@
+package com.montelzek.mydorm.security;
+
+import com.montelzek.mydorm.security.jwt.JwtUtils;
+import lombok.AllArgsConstructor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Authenticates GraphQL WebSocket sessions. Browsers cannot send an Authorization header on
+ * the upgrade request, so the JWT travels in the connection_init payload instead; the
+ * resulting security context is applied to every operation on that session.
+ */
+@Component
+@AllArgsConstructor
+public class GraphQlWebSocketAuthInterceptor implements WebSocketGraphQlInterceptor {
+
+    static final String SECURITY_CONTEXT_ATTRIBUTE = SecurityContext.class.getName();
+
+    private final JwtUtils jwtUtils;
+    private final UserDetailsServiceImpl userDetailsService;
+
+    @Override
+    public Mono<Object> handleConnectionInitialization(WebSocketSessionInfo sessionInfo, Map<String, Object> connectionInitPayload) {
+        Object header = connectionInitPayload.get("Authorization");
+        if (!(header instanceof String value) || !value.startsWith("Bearer ")) {
+            return Mono.error(new IllegalStateException("Missing bearer token in connection_init payload"));
+        }
+
+        String jwt = value.substring(7);
+        if (!jwtUtils.validateJwtToken(jwt)) {
+            return Mono.error(new IllegalStateException("Invalid token"));
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(jwtUtils.getEmailFromJwtToken(jwt));
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        sessionInfo.getAttributes().put(SECURITY_CONTEXT_ATTRIBUTE, securityContext);
+
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (request instanceof WebSocketGraphQlRequest webSocketRequest) {
+            Object securityContext = webSocketRequest.getSessionInfo().getAttributes().get(SECURITY_CONTEXT_ATTRIBUTE);
+            if (securityContext != null) {
+                // Restored into SecurityContextHolder around data fetchers by spring-graphql's context propagation
+                return chain.next(request).contextWrite(context -> context.put(SecurityContext.class.getName(), securityContext));
+            }
+        }
+        return chain.next(request);
+    }
+}
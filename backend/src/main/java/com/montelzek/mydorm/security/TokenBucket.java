@@ -0,0 +1,48 @@
+package com.montelzek.mydorm.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count the bucket stores the time at which it
+ * will be full again; taking tokens pushes that time forward by one refill interval each, and
+ * is refused when it would move further than {@code capacity} intervals past now. A single
+ * CAS on that timestamp therefore both refills and takes tokens.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long nowNanos) {
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes {@code tokens} tokens if available. Returns 0 on success, otherwise how many
+     * nanoseconds to wait before the same request would succeed.
+     */
+    long tryTake(int tokens, int capacity, long refillIntervalNanos, long nowNanos) {
+        long burst = capacity * refillIntervalNanos;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + tokens * refillIntervalNanos;
+            long overdraft = next - nowNanos - burst;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back tokens taken by an earlier successful {@link #tryTake}.
+     */
+    void refund(int tokens, long refillIntervalNanos) {
+        fullAt.addAndGet(-tokens * refillIntervalNanos);
+    }
+
+    boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmail(String email);
 
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.room room LEFT JOIN FETCH room.building LEFT JOIN FETCH u.roles WHERE u.id IN :ids")
+    List<User> findAllWithRoomByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT room.building.id FROM User u JOIN u.room room WHERE u.id = :userId")
+    Optional<Long> findBuildingIdByUserId(@Param("userId") Long userId);
+
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r = 'ROLE_RESIDENT'")
     List<User> findAllResidents();
 
@@ -29,17 +36,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r = 'ROLE_RESIDENT' AND u.room.building.id = :buildingId")
     Page<User> findResidentsByBuildingId(@Param("buildingId") Long buildingId, Pageable pageable);
 
-    @Query("SELECT u FROM User u JOIN u.roles r LEFT JOIN u.room room WHERE r = 'ROLE_RESIDENT' AND (LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(room.roomNumber) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<User> findAllResidentsWithSearch(@Param("search") String search, Pageable pageable);
+    // Search queries take a pattern from SearchPatterns.contains; each LOWER(...) LIKE matches a trigram index.
+    // Matching ids are collected in one sub-select so the planner can drive the search from those indexes
+    String NAME_OR_ROOM_MATCHES = "u.id IN (SELECT su.id FROM User su WHERE LOWER(su.firstName) LIKE :pattern ESCAPE '!' OR LOWER(su.lastName) LIKE :pattern ESCAPE '!' " +
+            "UNION SELECT su.id FROM User su JOIN su.room rm WHERE LOWER(rm.roomNumber) LIKE :pattern ESCAPE '!')";
+
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = 'ROLE_RESIDENT' AND " + NAME_OR_ROOM_MATCHES)
+    Page<User> findAllResidentsWithSearch(@Param("pattern") String pattern, Pageable pageable);
 
-    @Query("SELECT u FROM User u JOIN u.roles r LEFT JOIN u.room room WHERE r = 'ROLE_RESIDENT' AND u.room.building.id = :buildingId AND (LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(room.roomNumber) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<User> findResidentsByBuildingIdWithSearch(@Param("buildingId") Long buildingId, @Param("search") String search, Pageable pageable);
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = 'ROLE_RESIDENT' AND u.room.building.id = :buildingId AND " + NAME_OR_ROOM_MATCHES)
+    Page<User> findResidentsByBuildingIdWithSearch(@Param("buildingId") Long buildingId, @Param("pattern") String pattern, Pageable pageable);
 
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r = 'ROLE_TECHNICIAN'")
     Page<User> findAllTechnicians(Pageable pageable);
 
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = 'ROLE_TECHNICIAN' AND (LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<User> findAllTechniciansWithSearch(@Param("search") String search, Pageable pageable);
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = 'ROLE_TECHNICIAN' AND (LOWER(u.firstName) LIKE :pattern ESCAPE '!' OR LOWER(u.lastName) LIKE :pattern ESCAPE '!')")
+    Page<User> findAllTechniciansWithSearch(@Param("pattern") String pattern, Pageable pageable);
 
     @Query("SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r = :role")
     Long countByRolesContaining(@Param("role") ERole role);
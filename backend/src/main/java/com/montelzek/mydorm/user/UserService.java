@@ -1,5 +1,8 @@
 package com.montelzek.mydorm.user;
 
+import com.montelzek.mydorm.dashboard.DashboardCounter;
+import com.montelzek.mydorm.dashboard.DashboardCountersChanged;
+import com.montelzek.mydorm.dashboard.ResidentDashboardChanged;
 import com.montelzek.mydorm.exception.BusinessException;
 import com.montelzek.mydorm.exception.ErrorCodes;
 import com.montelzek.mydorm.room.Room;
@@ -8,8 +11,10 @@ import com.montelzek.mydorm.user.payloads.ResidentPage;
 import com.montelzek.mydorm.user.payloads.ResidentPayload;
 import com.montelzek.mydorm.user.payloads.UpdateProfileInput;
 import com.montelzek.mydorm.user.payloads.UserProfilePayload;
+import com.montelzek.mydorm.util.SearchPatterns;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,6 +32,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final RoomRepository roomRepository;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<ResidentPayload> getResidentsAsPayloads() {
         return userRepository.findAllResidents().stream()
@@ -48,6 +54,7 @@ public class UserService {
         
         user.setRoles(java.util.Collections.singleton(ERole.ROLE_RESIDENT));
 
+        DashboardCountersChanged counters = DashboardCountersChanged.of(DashboardCounter.RESIDENTS, 1);
         if (input.roomId() != null) {
             Room room = roomRepository.findById(Long.valueOf(input.roomId()))
                     .orElseThrow(() -> new BusinessException(ErrorCodes.RESOURCE_NOT_FOUND, "Room not found", "roomId"));
@@ -55,10 +62,14 @@ public class UserService {
             if (room.getUsers().size() >= room.getCapacity()) {
                 throw new BusinessException(ErrorCodes.VALIDATION_ERROR, "Room is at full capacity", "roomId");
             }
+            if (room.getUsers().isEmpty()) {
+                counters = counters.and(DashboardCounter.OCCUPIED_ROOMS, 1);
+            }
             user.setRoom(room);
         }
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(counters);
         return toPayload(savedUser);
     }
 
@@ -100,7 +111,7 @@ public class UserService {
         Page<User> userPage;
 
         if (search != null && !search.trim().isEmpty()) {
-            userPage = userRepository.findAllResidentsWithSearch(search.trim(), pageable);
+            userPage = userRepository.findAllResidentsWithSearch(SearchPatterns.contains(search), pageable);
         } else {
             userPage = userRepository.findAllResidents(pageable);
         }
@@ -130,7 +141,7 @@ public class UserService {
         Page<User> userPage;
 
         if (search != null && !search.trim().isEmpty()) {
-            userPage = userRepository.findResidentsByBuildingIdWithSearch(buildingId, search.trim(), pageable);
+            userPage = userRepository.findResidentsByBuildingIdWithSearch(buildingId, SearchPatterns.contains(search), pageable);
         } else {
             userPage = userRepository.findResidentsByBuildingId(buildingId, pageable);
         }
@@ -160,7 +171,7 @@ public class UserService {
         Page<User> userPage;
 
         if (search != null && !search.trim().isEmpty()) {
-            userPage = userRepository.findAllTechniciansWithSearch(search.trim(), pageable);
+            userPage = userRepository.findAllTechniciansWithSearch(SearchPatterns.contains(search), pageable);
         } else {
             userPage = userRepository.findAllTechnicians(pageable);
         }
@@ -233,8 +244,16 @@ public class UserService {
             );
         }
 
+        Room previousRoom = user.getRoom();
+        int occupiedRoomsDelta = 0;
+        if (previousRoom == null || !previousRoom.getId().equals(room.getId())) {
+            occupiedRoomsDelta = (room.getUsers().isEmpty() ? 1 : 0) - (isLastOccupant(previousRoom) ? 1 : 0);
+        }
+
         user.setRoom(room);
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(DashboardCountersChanged.of(DashboardCounter.OCCUPIED_ROOMS, occupiedRoomsDelta));
+        eventPublisher.publishEvent(ResidentDashboardChanged.forUser(userId));
 
 
         return toPayload(savedUser);
@@ -248,7 +267,13 @@ public class UserService {
                         "userId"
                 ));
 
+        DashboardCountersChanged counters = DashboardCountersChanged
+                .of(DashboardCounter.OCCUPIED_ROOMS, isLastOccupant(user.getRoom()) ? -1 : 0)
+                .and(DashboardCounter.RESIDENTS, user.getRoles().contains(ERole.ROLE_RESIDENT) ? -1 : 0);
+
         userRepository.delete(user);
+        eventPublisher.publishEvent(counters);
+        eventPublisher.publishEvent(ResidentDashboardChanged.forUser(userId));
         return true;
     }
 
@@ -282,6 +307,7 @@ public class UserService {
         user.setPhone(input.phone());
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(ResidentDashboardChanged.forUser(userId));
 
         return new UserProfilePayload(
                 savedUser.getId(),
@@ -292,4 +318,8 @@ public class UserService {
         );
     }
 
+    // A room stops counting as occupied when its last occupant leaves it
+    private static boolean isLastOccupant(Room room) {
+        return room != null && room.getUsers().size() == 1;
+    }
 }
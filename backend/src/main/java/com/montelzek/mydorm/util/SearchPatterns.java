@@ -0,0 +1,26 @@
+package com.montelzek.mydorm.util;
+
+import java.util.Locale;
+
+public final class SearchPatterns {
+
+    private SearchPatterns() {
+
+    }
+
+    /**
+     * Builds a lower-case {@code %term%} LIKE pattern with {@code !} as the escape character,
+     * or returns null for a blank term. Queries compare it against {@code LOWER(column)} so
+     * that the trigram indexes on those expressions apply.
+     */
+    public static String contains(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        String escaped = search.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+}
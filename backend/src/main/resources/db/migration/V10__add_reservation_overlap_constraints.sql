@@ -0,0 +1,55 @@
+-- Enforce non-overlapping confirmed reservations in the database, so concurrent bookings
+-- cannot both pass the availability check. btree_gist provides the = operator for resource_id/user_id.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Existing double bookings would make the constraints below fail. Walking confirmed reservations
+-- in creation order, the earliest one keeps its slot and every later one overlapping a reservation
+-- that is still confirmed (same resource or same user) is cancelled.
+DO $$
+DECLARE
+    r         RECORD;
+    cancelled BIGINT[] := '{}';
+BEGIN
+    FOR r IN
+        SELECT later.id
+        FROM reservations later
+        WHERE later.status = 'CONFIRMED'
+          AND EXISTS (SELECT 1
+                      FROM reservations earlier
+                      WHERE earlier.status = 'CONFIRMED'
+                        AND (earlier.resource_id = later.resource_id OR earlier.user_id = later.user_id)
+                        AND earlier.start_time < later.end_time
+                        AND later.start_time < earlier.end_time
+                        AND (COALESCE(earlier.created_at, '-infinity'), earlier.id) < (COALESCE(later.created_at, '-infinity'), later.id))
+        ORDER BY COALESCE(later.created_at, '-infinity'), later.id
+    LOOP
+        UPDATE reservations later
+        SET status = 'CANCELLED', updated_at = NOW()
+        WHERE later.id = r.id
+          AND EXISTS (SELECT 1
+                      FROM reservations earlier
+                      WHERE earlier.status = 'CONFIRMED'
+                        AND earlier.id <> later.id
+                        AND (earlier.resource_id = later.resource_id OR earlier.user_id = later.user_id)
+                        AND earlier.start_time < later.end_time
+                        AND later.start_time < earlier.end_time
+                        AND (COALESCE(earlier.created_at, '-infinity'), earlier.id) < (COALESCE(later.created_at, '-infinity'), later.id));
+        IF FOUND THEN
+            cancelled := cancelled || r.id;
+        END IF;
+    END LOOP;
+
+    IF cardinality(cancelled) > 0 THEN
+        RAISE NOTICE 'Cancelled % overlapping reservations: %', cardinality(cancelled), cancelled;
+    END IF;
+END $$;
+
+ALTER TABLE reservations
+    ADD CONSTRAINT reservations_no_resource_overlap
+        EXCLUDE USING gist (resource_id WITH =, tsrange(start_time, end_time) WITH &&)
+        WHERE (status = 'CONFIRMED');
+
+ALTER TABLE reservations
+    ADD CONSTRAINT reservations_no_user_overlap
+        EXCLUDE USING gist (user_id WITH =, tsrange(start_time, end_time) WITH &&)
+        WHERE (status = 'CONFIRMED');
@@ -0,0 +1,11 @@
+-- Weekly reservation usage per user and limit scope ('LAUNDRY' or 'RESOURCE:<id>').
+-- Rows are rebuilt from reservations on application startup and kept in step on create/cancel.
+CREATE TABLE reservation_quota
+(
+    user_id    INTEGER     NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    week_start DATE        NOT NULL,
+    scope      VARCHAR(50) NOT NULL,
+    used       INTEGER     NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, week_start, scope),
+    CHECK (used >= 0)
+);
@@ -0,0 +1,14 @@
+-- Residents waiting for a taken laundry slot, served in id (join) order
+CREATE TABLE reservation_waitlist
+(
+    id          SERIAL PRIMARY KEY,
+    user_id     INTEGER   NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    resource_id INTEGER   NOT NULL REFERENCES reservation_resources (id) ON DELETE CASCADE,
+    start_time  TIMESTAMP NOT NULL,
+    end_time    TIMESTAMP NOT NULL,
+    created_at  TIMESTAMP DEFAULT NOW(),
+    UNIQUE (user_id, resource_id, start_time),
+    CHECK (end_time > start_time)
+);
+
+CREATE INDEX idx_reservation_waitlist_slot ON reservation_waitlist (resource_id, start_time, id);
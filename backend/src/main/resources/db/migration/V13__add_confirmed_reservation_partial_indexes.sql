@@ -0,0 +1,5 @@
+-- Ended reservations are moved to COMPLETED by a scheduled job, so CONFIRMED rows are the live
+-- set. These partial indexes cover only that set for the hot lookups and for the job itself.
+CREATE INDEX idx_reservations_confirmed_start ON reservations (start_time) WHERE status = 'CONFIRMED';
+CREATE INDEX idx_reservations_confirmed_user_start ON reservations (user_id, start_time) WHERE status = 'CONFIRMED';
+CREATE INDEX idx_reservations_confirmed_end ON reservations (end_time) WHERE status = 'CONFIRMED';
@@ -0,0 +1,4 @@
+-- Keyset pagination over admin reservations orders and seeks by (start_time, id); this index
+-- serves that order directly and supersedes the single-column partial index on start_time.
+CREATE INDEX idx_reservations_confirmed_start_id ON reservations (start_time, id) WHERE status = 'CONFIRMED';
+DROP INDEX idx_reservations_confirmed_start;
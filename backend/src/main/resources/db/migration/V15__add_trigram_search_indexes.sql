@@ -0,0 +1,8 @@
+-- Substring search ('%term%') cannot use B-tree indexes. Trigram GIN indexes on the lower()
+-- expressions let the admin search queries, which compare LOWER(column) LIKE :pattern, use an index.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX idx_rooms_room_number_trgm ON rooms USING gin (lower(room_number) gin_trgm_ops);
+CREATE INDEX idx_reservation_resources_name_trgm ON reservation_resources USING gin (lower(name) gin_trgm_ops);
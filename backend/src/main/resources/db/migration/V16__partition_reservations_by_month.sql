@@ -0,0 +1,105 @@
+-- Range-partition reservations by month of start_time so that queries bounded on start_time
+-- only touch the matching partitions and past months can be detached as a whole.
+--
+-- PostgreSQL cannot enforce the overlap exclusion constraints across partitions, so each
+-- partition carries its own. That is sufficient because a reservation never leaves its
+-- calendar month (bookings start and end on the same day), which reservations_within_month
+-- guarantees: two overlapping reservations always land in the same partition.
+
+ALTER TABLE reservations RENAME TO reservations_unpartitioned;
+ALTER INDEX reservations_pkey RENAME TO reservations_unpartitioned_pkey;
+DROP INDEX idx_reservations_confirmed_user_start;
+DROP INDEX idx_reservations_confirmed_end;
+DROP INDEX idx_reservations_confirmed_start_id;
+ALTER SEQUENCE reservations_id_seq OWNED BY NONE;
+
+CREATE TABLE reservations
+(
+    id          INTEGER     NOT NULL DEFAULT nextval('reservations_id_seq'),
+    user_id     INTEGER     NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    resource_id INTEGER     NOT NULL REFERENCES reservation_resources (id) ON DELETE CASCADE,
+    start_time  TIMESTAMP   NOT NULL,
+    end_time    TIMESTAMP   NOT NULL,
+    created_at  TIMESTAMP DEFAULT NOW(),
+    updated_at  TIMESTAMP DEFAULT NOW(),
+    status      VARCHAR(20) NOT NULL DEFAULT 'CONFIRMED',
+    PRIMARY KEY (id, start_time),
+    CHECK (end_time > start_time),
+    CONSTRAINT reservations_within_month CHECK (date_trunc('month', start_time) = date_trunc('month', end_time))
+) PARTITION BY RANGE (start_time);
+
+ALTER SEQUENCE reservations_id_seq OWNED BY reservations.id;
+
+-- Same partial indexes as before (V13, V14); they are created on every partition
+CREATE INDEX idx_reservations_confirmed_user_start ON reservations (user_id, start_time) WHERE status = 'CONFIRMED';
+CREATE INDEX idx_reservations_confirmed_end ON reservations (end_time) WHERE status = 'CONFIRMED';
+CREATE INDEX idx_reservations_confirmed_start_id ON reservations (start_time, id) WHERE status = 'CONFIRMED';
+
+CREATE FUNCTION add_reservation_overlap_constraints(partition_name TEXT) RETURNS VOID AS
+$$
+BEGIN
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist '
+                       || '(resource_id WITH =, tsrange(start_time, end_time) WITH &&) WHERE (status = ''CONFIRMED'')',
+                   partition_name, partition_name || '_no_resource_overlap');
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist '
+                       || '(user_id WITH =, tsrange(start_time, end_time) WITH &&) WHERE (status = ''CONFIRMED'')',
+                   partition_name, partition_name || '_no_user_overlap');
+END;
+$$ LANGUAGE plpgsql;
+
+-- Bookings beyond the prepared months land here until their partition is created
+CREATE TABLE reservations_default PARTITION OF reservations DEFAULT;
+SELECT add_reservation_overlap_constraints('reservations_default');
+
+-- Creates the partition for the month containing month_start unless it already exists and
+-- returns whether it did. Rows already sitting in the default partition for that month are
+-- moved into the new partition before it is attached.
+CREATE FUNCTION create_reservation_partition(month_start DATE) RETURNS BOOLEAN AS
+$$
+DECLARE
+    range_start    TIMESTAMP := date_trunc('month', month_start);
+    range_end      TIMESTAMP := date_trunc('month', month_start) + INTERVAL '1 month';
+    partition_name TEXT      := 'reservations_' || to_char(range_start, '"y"YYYY"m"MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    LOCK TABLE reservations_default IN ACCESS EXCLUSIVE MODE;
+
+    EXECUTE format('CREATE TABLE %I (LIKE reservations INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    PERFORM add_reservation_overlap_constraints(partition_name);
+    EXECUTE format('INSERT INTO %I SELECT * FROM reservations_default WHERE start_time >= $1 AND start_time < $2',
+                   partition_name) USING range_start, range_end;
+    DELETE FROM reservations_default WHERE start_time >= range_start AND start_time < range_end;
+    EXECUTE format('ALTER TABLE reservations ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for every month that already has reservations, plus the coming months
+DO
+$$
+DECLARE
+    first_month DATE := LEAST(
+            COALESCE((SELECT date_trunc('month', MIN(start_time))::DATE FROM reservations_unpartitioned), CURRENT_DATE),
+            date_trunc('month', CURRENT_DATE)::DATE);
+    last_month  DATE := GREATEST(
+            COALESCE((SELECT date_trunc('month', MAX(start_time))::DATE FROM reservations_unpartitioned), CURRENT_DATE),
+            (date_trunc('month', CURRENT_DATE) + INTERVAL '7 months')::DATE);
+    month       DATE := date_trunc('month', first_month)::DATE;
+BEGIN
+    WHILE month <= last_month
+        LOOP
+            PERFORM create_reservation_partition(month);
+            month := (month + INTERVAL '1 month')::DATE;
+        END LOOP;
+END;
+$$;
+
+INSERT INTO reservations (id, user_id, resource_id, start_time, end_time, created_at, updated_at, status)
+SELECT id, user_id, resource_id, start_time, end_time, created_at, updated_at, status
+FROM reservations_unpartitioned;
+
+DROP TABLE reservations_unpartitioned;
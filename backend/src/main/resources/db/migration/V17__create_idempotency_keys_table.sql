@@ -0,0 +1,14 @@
+-- Idempotency keys sent with create mutations. result_id is the id of the row the first request
+-- created; retries with the same key are answered from it until expires_at.
+CREATE TABLE idempotency_keys
+(
+    user_id         INTEGER      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    operation       VARCHAR(50)  NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    result_id       BIGINT,
+    expires_at      TIMESTAMP    NOT NULL,
+    PRIMARY KEY (user_id, operation, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
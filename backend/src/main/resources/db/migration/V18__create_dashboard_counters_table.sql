@@ -0,0 +1,38 @@
+-- Admin dashboard totals, kept up to date by the application as rows change and periodically
+-- recomputed from the source tables. The table holds a single row with id 1.
+CREATE TABLE dashboard_counters
+(
+    id                     SMALLINT  PRIMARY KEY CHECK (id = 1),
+    total_residents        BIGINT    NOT NULL,
+    total_rooms            BIGINT    NOT NULL,
+    total_buildings        BIGINT    NOT NULL,
+    occupied_rooms         BIGINT    NOT NULL,
+    total_reservations     BIGINT    NOT NULL,
+    total_issues           BIGINT    NOT NULL,
+    reported_issues        BIGINT    NOT NULL,
+    in_progress_issues     BIGINT    NOT NULL,
+    resolved_issues        BIGINT    NOT NULL,
+    low_priority_issues    BIGINT    NOT NULL,
+    medium_priority_issues BIGINT    NOT NULL,
+    high_priority_issues   BIGINT    NOT NULL,
+    updated_at             TIMESTAMP NOT NULL DEFAULT NOW(),
+    reconciled_at          TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO dashboard_counters (id, total_residents, total_rooms, total_buildings, occupied_rooms, total_reservations,
+                                total_issues, reported_issues, in_progress_issues, resolved_issues,
+                                low_priority_issues, medium_priority_issues, high_priority_issues)
+SELECT 1,
+       (SELECT COUNT(*) FROM user_roles WHERE role_name = 'ROLE_RESIDENT'),
+       (SELECT COUNT(*) FROM rooms),
+       (SELECT COUNT(*) FROM buildings),
+       (SELECT COUNT(*) FROM rooms r WHERE EXISTS (SELECT 1 FROM users u WHERE u.room_id = r.id)),
+       (SELECT COUNT(*) FROM reservations),
+       COUNT(*),
+       COUNT(*) FILTER (WHERE status = 'REPORTED'),
+       COUNT(*) FILTER (WHERE status = 'IN_PROGRESS'),
+       COUNT(*) FILTER (WHERE status = 'RESOLVED'),
+       COUNT(*) FILTER (WHERE priority = 'LOW'),
+       COUNT(*) FILTER (WHERE priority = 'MEDIUM'),
+       COUNT(*) FILTER (WHERE priority = 'HIGH')
+FROM issues;
@@ -0,0 +1,3 @@
+-- Per-user counts and the newest issues on the resident dashboard, without scanning other users' rows
+CREATE INDEX idx_issues_user_created ON issues (user_id, created_at DESC);
+CREATE INDEX idx_reservations_user ON reservations (user_id);
@@ -0,0 +1,52 @@
+package com.montelzek.mydorm.dashboard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class DashboardSectionRunnerTests {
+
+    @Test
+    void sectionsRunInlineWhenNoBackgroundPermitIsFree() {
+        DashboardSectionRunner runner = new DashboardSectionRunner(mock(PlatformTransactionManager.class), 3000, 0);
+        Thread caller = Thread.currentThread();
+
+        DashboardSectionRunner.Section<Thread> section = runner.group().fork("thread", Thread::currentThread);
+
+        assertThat(section.join()).isSameAs(caller);
+        runner.shutdown();
+    }
+
+    @Test
+    void failedRequiredSectionCancelsItsSiblings() throws InterruptedException {
+        DashboardSectionRunner runner = new DashboardSectionRunner(mock(PlatformTransactionManager.class), 10_000, 4);
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+
+        DashboardSectionRunner.Group sections = runner.group();
+        DashboardSectionRunner.Section<String> sibling = sections.fork("sibling", () -> {
+            siblingStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                siblingInterrupted.countDown();
+            }
+            return "late";
+        });
+        DashboardSectionRunner.Section<String> required = sections.fork("required", () -> {
+            throw new IllegalArgumentException("User not found");
+        });
+        assertThat(siblingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(required::join).isInstanceOf(IllegalArgumentException.class);
+        assertThat(siblingInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sibling.joinOr("fallback")).isEqualTo("fallback");
+        runner.shutdown();
+    }
+}
@@ -0,0 +1,157 @@
+package com.montelzek.mydorm.dashboard;
+
+import com.montelzek.mydorm.announcement.AnnouncementService;
+import com.montelzek.mydorm.dashboard.payload.AdminDashboardData;
+import com.montelzek.mydorm.event.EventRepository;
+import com.montelzek.mydorm.event.EventService;
+import com.montelzek.mydorm.issue.IssueRepository;
+import com.montelzek.mydorm.issue.IssueService;
+import com.montelzek.mydorm.reservation.ReservationRepository;
+import com.montelzek.mydorm.reservation.ReservationService;
+import com.montelzek.mydorm.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final IssueRepository issueRepository = mock(IssueRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final DashboardCounterStore dashboardCounterStore = mock(DashboardCounterStore.class);
+
+    private DashboardSectionRunner sectionRunner;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        sectionRunner = new DashboardSectionRunner(mock(PlatformTransactionManager.class), 3000, 4);
+        dashboardService = new DashboardService(userRepository, issueRepository, reservationRepository, eventRepository,
+                dashboardCounterStore, sectionRunner, mock(ResidentDashboardCache.class), mock(AnnouncementService.class),
+                mock(EventService.class), mock(IssueService.class), mock(ReservationService.class));
+        when(dashboardCounterStore.read()).thenReturn(new DashboardCounts(40, 30, 2, 20, 10, 100, 12, 5, 4, 3, 6, 4, 2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sectionRunner.shutdown();
+    }
+
+    @Test
+    void adminStatsAndIssueStatsComeFromOneCountersRead() {
+        AdminDashboardData dashboard = dashboardService.getAdminDashboard(Set.of("stats", "issueStats")::contains);
+
+        verify(dashboardCounterStore, times(1)).read();
+        verifyNoInteractions(userRepository, issueRepository, reservationRepository, eventRepository);
+        assertThat(dashboard.stats().totalResidents()).isEqualTo(40);
+        assertThat(dashboard.stats().availableRooms()).isEqualTo(10);
+        assertThat(dashboard.issueStats().highPriority()).isEqualTo(2);
+    }
+
+    @Test
+    void countersAreNotReadWhenNoStatsAreSelected() {
+        AdminDashboardData dashboard = dashboardService.getAdminDashboard(Set.of("recentIssues")::contains);
+
+        verifyNoInteractions(dashboardCounterStore);
+        assertThat(dashboard.stats()).isNull();
+        assertThat(dashboard.issueStats()).isNull();
+    }
+
+    /**
+     * Runs against the configured database, like {@code MydormApplicationTests}. Counts the
+     * statements prepared on the application's DataSource, which covers both the JPA
+     * repositories and the JdbcTemplate counters read that Hibernate statistics would miss.
+     */
+    @Nested
+    @SpringBootTest(properties = "dashboard.counters.flush-interval-ms=3600000")
+    @Import(StatementCountingConfiguration.class)
+    class AgainstDatabase {
+
+        @Autowired
+        private DashboardService dashboardService;
+
+        @Test
+        void adminStatsAndIssueStatsTakeOneStatement() {
+            int before = StatementCountingConfiguration.STATEMENTS.get();
+
+            AdminDashboardData dashboard = dashboardService.getAdminDashboard(Set.of("stats", "issueStats")::contains);
+
+            assertThat(StatementCountingConfiguration.STATEMENTS.get() - before).isEqualTo(1);
+            assertThat(dashboard.stats()).isNotNull();
+            assertThat(dashboard.issueStats()).isNotNull();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfiguration {
+
+        static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new StatementCountingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static class StatementCountingDataSource extends DelegatingDataSource {
+
+        StatementCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")
+                                || method.getName().equals("prepareCall")) {
+                            StatementCountingConfiguration.STATEMENTS.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
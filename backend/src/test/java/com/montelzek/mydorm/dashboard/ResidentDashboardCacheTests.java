@@ -0,0 +1,46 @@
+package com.montelzek.mydorm.dashboard;
+
+import com.montelzek.mydorm.dashboard.payload.ResidentDashboardData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResidentDashboardCacheTests {
+
+    private static final ResidentDashboardData DASHBOARD =
+            new ResidentDashboardData(null, null, List.of(), List.of(), List.of(), List.of());
+
+    private final ResidentDashboardCache cache = new ResidentDashboardCache(100, 300);
+
+    @Test
+    void loadSurvivesInvalidationOfAnotherResident() {
+        ResidentDashboardCache.Generation loadedAt = cache.generation(1L);
+        cache.onResidentDashboardChanged(ResidentDashboardChanged.forUser(2L));
+
+        cache.put(1L, 10L, DASHBOARD, loadedAt);
+
+        assertThat(cache.get(1L)).isSameAs(DASHBOARD);
+    }
+
+    @Test
+    void loadRacingItsOwnInvalidationIsNotStored() {
+        ResidentDashboardCache.Generation loadedAt = cache.generation(1L);
+        cache.onResidentDashboardChanged(ResidentDashboardChanged.forUser(1L));
+
+        cache.put(1L, 10L, DASHBOARD, loadedAt);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void loadRacingABuildingInvalidationIsNotStored() {
+        ResidentDashboardCache.Generation loadedAt = cache.generation(1L);
+        cache.onResidentDashboardChanged(ResidentDashboardChanged.forBuilding(10L));
+
+        cache.put(1L, 10L, DASHBOARD, loadedAt);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+}
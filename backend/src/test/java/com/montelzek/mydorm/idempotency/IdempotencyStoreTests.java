@@ -0,0 +1,139 @@
+package com.montelzek.mydorm.idempotency;
+
+import com.montelzek.mydorm.exception.BusinessException;
+import com.montelzek.mydorm.exception.ErrorCodes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against the configured database, like {@code MydormApplicationTests}.
+ */
+@SpringBootTest
+class IdempotencyStoreTests {
+
+    private static final String OPERATION = "testOperation";
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Long userId;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        key = UUID.randomUUID().toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE operation = ?", OPERATION);
+    }
+
+    @Test
+    void concurrentRetryWaitsForTheClaimAndReplaysItsResult() throws Exception {
+        String hash = IdempotencyStore.requestHash("same request");
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            assertThat(idempotencyStore.claim(userId, OPERATION, key, hash)).isEmpty();
+            idempotencyStore.complete(userId, OPERATION, key, hash, 42L);
+            claimed.countDown();
+            await(commit);
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Optional<Long>> retry = CompletableFuture.supplyAsync(() -> claimInTransaction(hash));
+
+        // The retry is blocked on the row the first request has claimed but not committed
+        Thread.sleep(500);
+        assertThat(retry).isNotDone();
+
+        commit.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        assertThat(retry.get(10, TimeUnit.SECONDS)).contains(42L);
+    }
+
+    @Test
+    void rolledBackClaimReleasesTheKey() {
+        String hash = IdempotencyStore.requestHash("same request");
+
+        transaction.executeWithoutResult(status -> {
+            assertThat(idempotencyStore.claim(userId, OPERATION, key, hash)).isEmpty();
+            idempotencyStore.complete(userId, OPERATION, key, hash, 42L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(claimInTransaction(hash)).isEmpty();
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        String hash = IdempotencyStore.requestHash("first request");
+        transaction.executeWithoutResult(status -> {
+            idempotencyStore.claim(userId, OPERATION, key, hash);
+            idempotencyStore.complete(userId, OPERATION, key, hash, 42L);
+        });
+
+        String otherHash = IdempotencyStore.requestHash("second request");
+        assertThatThrownBy(() -> claimInTransaction(otherHash))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCodes.IDEMPOTENCY_KEY_REUSED.getCode());
+    }
+
+    @Test
+    void expiredKeyIsTakenOverByANewRequest() {
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (user_id, operation, idempotency_key, request_hash, result_id, expires_at)
+                VALUES (?, ?, ?, ?, ?, ?)""",
+                userId, OPERATION, key, IdempotencyStore.requestHash("old request"), 7L, LocalDateTime.now().minusDays(2));
+
+        String hash = IdempotencyStore.requestHash("new request");
+        assertThat(claimInTransaction(hash)).isEmpty();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT request_hash, result_id FROM idempotency_keys WHERE user_id = ? AND operation = ? AND idempotency_key = ?",
+                userId, OPERATION, key);
+        assertThat(row.get("request_hash")).isEqualTo(hash);
+        assertThat(row.get("result_id")).isNull();
+    }
+
+    private Optional<Long> claimInTransaction(String hash) {
+        return transaction.execute(status -> idempotencyStore.claim(userId, OPERATION, key, hash));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.montelzek.mydorm.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphQlRateLimiterTests {
+
+    @Test
+    void rejectedRequestTakesNoTokensFromItsOtherFields() {
+        GraphQlRateLimiter limiter = new GraphQlRateLimiter("createReservation:2:1,availableLaundrySlots:1:1");
+        Map<String, Integer> fields = new LinkedHashMap<>();
+        fields.put("createReservation", 1);
+        fields.put("availableLaundrySlots", 1);
+
+        assertThat(limiter.tryAcquire(1L, fields)).isZero();
+        // createReservation still has a token, availableLaundrySlots is empty
+        assertThat(limiter.tryAcquire(1L, fields)).isPositive();
+
+        assertThat(limiter.tryAcquire(1L, Map.of("createReservation", 1))).isZero();
+        assertThat(limiter.tryAcquire(1L, Map.of("createReservation", 1))).isPositive();
+    }
+
+    @Test
+    void emptyOperationListDisablesLimits() {
+        GraphQlRateLimiter limiter = new GraphQlRateLimiter("");
+
+        assertThat(limiter.countLimitedFields("mutation { createReservation(input: {}) { id } }", null)).isEmpty();
+    }
+}